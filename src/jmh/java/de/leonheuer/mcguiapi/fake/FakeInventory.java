@@ -0,0 +1,79 @@
+package de.leonheuer.mcguiapi.fake;
+
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Array backed fake of a Bukkit inventory. Its viewers are kept in the list returned by
+ * {@link Inventory#getViewers()}, which {@link FakePlayer} updates when it opens or closes the inventory.
+ */
+public final class FakeInventory {
+
+    private FakeInventory() {
+    }
+
+    /**
+     * Creates a fake inventory with the specified amount of slots.
+     * @param size The amount of slots
+     * @return The fake inventory
+     */
+    @NotNull
+    public static Inventory create(int size) {
+        return create(Inventory.class, size);
+    }
+
+    /**
+     * Creates a fake player inventory.
+     * @return The fake player inventory
+     */
+    @NotNull
+    public static PlayerInventory createPlayerInventory() {
+        return create(PlayerInventory.class, 41);
+    }
+
+    @NotNull
+    private static <T extends Inventory> T create(@NotNull Class<T> type, int size) {
+        ItemStack[] contents = new ItemStack[size];
+        List<HumanEntity> viewers = new ArrayList<>();
+        return Fakes.of(type, (self, method, args) -> {
+            switch (method.getName()) {
+                case "getSize":
+                    return size;
+                case "getItem":
+                    return contents[(int) args[0]];
+                case "setItem":
+                    contents[(int) args[0]] = (ItemStack) args[1];
+                    return null;
+                case "getContents":
+                case "getStorageContents":
+                    return contents.clone();
+                case "setContents":
+                case "setStorageContents":
+                    ItemStack[] items = (ItemStack[]) args[0];
+                    Arrays.fill(contents, null);
+                    System.arraycopy(items, 0, contents, 0, Math.min(items.length, size));
+                    return null;
+                case "clear":
+                    if (args == null || args.length == 0) {
+                        Arrays.fill(contents, null);
+                    } else {
+                        contents[(int) args[0]] = null;
+                    }
+                    return null;
+                case "getViewers":
+                    return viewers;
+                case "isEmpty":
+                    return Arrays.stream(contents).allMatch(item -> item == null);
+                default:
+                    return Fakes.UNHANDLED;
+            }
+        });
+    }
+}
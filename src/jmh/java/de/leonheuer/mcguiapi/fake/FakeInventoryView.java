@@ -0,0 +1,52 @@
+package de.leonheuer.mcguiapi.fake;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryView;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Inventory view of a fake player looking at a chest-like inventory.
+ */
+public class FakeInventoryView extends InventoryView {
+
+    private final Inventory top;
+    private final Inventory bottom;
+    private final HumanEntity player;
+
+    public FakeInventoryView(@NotNull Inventory top, @NotNull Inventory bottom, @NotNull HumanEntity player) {
+        this.top = top;
+        this.bottom = bottom;
+        this.player = player;
+    }
+
+    @Override
+    public @NotNull Inventory getTopInventory() {
+        return top;
+    }
+
+    @Override
+    public @NotNull Inventory getBottomInventory() {
+        return bottom;
+    }
+
+    @Override
+    public @NotNull HumanEntity getPlayer() {
+        return player;
+    }
+
+    @Override
+    public @NotNull InventoryType getType() {
+        return InventoryType.CHEST;
+    }
+
+    public @NotNull String getTitle() {
+        return "Fake";
+    }
+
+    public @NotNull Component title() {
+        return Component.text(getTitle());
+    }
+}
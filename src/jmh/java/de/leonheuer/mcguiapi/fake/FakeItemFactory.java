@@ -0,0 +1,162 @@
+package de.leonheuer.mcguiapi.fake;
+
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Fake item factory whose item metas store their values in a map.
+ * Values are stored under the name of the method that set them, which is enough for names, lore,
+ * enchantments and item flags.
+ */
+public final class FakeItemFactory {
+
+    private FakeItemFactory() {
+    }
+
+    /**
+     * Creates the fake item factory.
+     * @return The fake item factory
+     */
+    @NotNull
+    public static ItemFactory create() {
+        return Fakes.of(ItemFactory.class, (self, method, args) -> {
+            switch (method.getName()) {
+                case "getItemMeta":
+                    return newMeta(new HashMap<>());
+                case "isApplicable":
+                    return true;
+                case "asMetaFor":
+                    return args[0];
+                case "equals":
+                    return Objects.equals(stateOf((ItemMeta) args[0]), stateOf((ItemMeta) args[1]));
+                default:
+                    return Fakes.UNHANDLED;
+            }
+        });
+    }
+
+    @NotNull
+    private static ItemMeta newMeta(@NotNull Map<String, Object> state) {
+        InvocationHandler handler = (self, method, args) -> {
+            String name = method.getName();
+            int parameters = method.getParameterCount();
+            switch (name) {
+                case "clone":
+                    return newMeta(copy(state));
+                case "equals":
+                    if (parameters == 1) {
+                        return args[0] instanceof ItemMeta meta && state.equals(stateOf(meta));
+                    }
+                    break;
+                case "hashCode":
+                    return state.hashCode();
+                case "toString":
+                    return "FakeItemMeta" + state;
+                case "addEnchant":
+                    enchants(state).put(args[0], args[1]);
+                    return true;
+                case "removeEnchant":
+                    return enchants(state).remove(args[0]) != null;
+                case "hasEnchants":
+                    return !enchants(state).isEmpty();
+                case "getEnchants":
+                    return Map.copyOf(enchants(state));
+                case "addItemFlags":
+                    for (Object flag : (Object[]) args[0]) {
+                        flags(state).put(flag, Boolean.TRUE);
+                    }
+                    return null;
+                case "hasItemFlag":
+                    return flags(state).containsKey(args[0]);
+                case "getItemFlags":
+                    return EnumSet.noneOf(org.bukkit.inventory.ItemFlag.class);
+                default:
+                    break;
+            }
+            if (parameters == 1 && method.getReturnType() == void.class) {
+                state.put(property(name), args[0]);
+                return null;
+            }
+            if (parameters == 0 && name.startsWith("has")) {
+                return state.get(property(name)) != null;
+            }
+            if (parameters == 0 && state.containsKey(property(name))) {
+                return state.get(property(name));
+            }
+            return Fakes.UNHANDLED;
+        };
+        return (ItemMeta) Proxy.newProxyInstance(FakeItemFactory.class.getClassLoader(),
+                new Class<?>[]{ItemMeta.class, StateHolder.class}, (self, method, args) -> {
+                    if (method.getDeclaringClass() == StateHolder.class) {
+                        return state;
+                    }
+                    Object result = handler.invoke(self, method, args);
+                    return result == Fakes.UNHANDLED ? defaultValue(method.getReturnType()) : result;
+                });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        return null;
+    }
+
+    // maps displayName, setDisplayName, hasDisplayName and getDisplayName to the same key
+    @NotNull
+    private static String property(@NotNull String method) {
+        for (String prefix : new String[]{"set", "get", "has"}) {
+            if (method.startsWith(prefix) && method.length() > prefix.length()) {
+                String rest = method.substring(prefix.length());
+                return Character.toLowerCase(rest.charAt(0)) + rest.substring(1);
+            }
+        }
+        return method;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Object, Object> enchants(@NotNull Map<String, Object> state) {
+        return (Map<Object, Object>) state.computeIfAbsent("enchants", key -> new LinkedHashMap<>());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<Object, Object> flags(@NotNull Map<String, Object> state) {
+        return (Map<Object, Object>) state.computeIfAbsent("flags", key -> new LinkedHashMap<>());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> copy(@NotNull Map<String, Object> state) {
+        Map<String, Object> copy = new HashMap<>(state);
+        copy.computeIfPresent("enchants", (key, value) -> new LinkedHashMap<>((Map<Object, Object>) value));
+        copy.computeIfPresent("flags", (key, value) -> new LinkedHashMap<>((Map<Object, Object>) value));
+        return copy;
+    }
+
+    private static Map<String, Object> stateOf(ItemMeta meta) {
+        if (meta instanceof StateHolder holder) {
+            Map<String, Object> state = holder.fakeState();
+            return state.values().stream().allMatch(FakeItemFactory::isEmptyValue) ? null : state;
+        }
+        return null;
+    }
+
+    private static boolean isEmptyValue(Object value) {
+        return value == null || value instanceof Map<?, ?> map && map.isEmpty();
+    }
+
+    interface StateHolder {
+        Map<String, Object> fakeState();
+    }
+}
@@ -0,0 +1,77 @@
+package de.leonheuer.mcguiapi.fake;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryView;
+import org.bukkit.inventory.PlayerInventory;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * Fake player that tracks the inventory it is looking at and is listed as viewer of that inventory.
+ * The player is added to the installed fake server.
+ * Opening and closing inventories does not fire events, the caller decides which events to simulate.
+ */
+public final class FakePlayer {
+
+    private final UUID uuid;
+    private final String name;
+    private final PlayerInventory inventory = FakeInventory.createPlayerInventory();
+    private final Inventory crafting = FakeInventory.create(5);
+    private final Player player;
+    private InventoryView view;
+
+    public FakePlayer(@NotNull String name) {
+        this.uuid = UUID.nameUUIDFromBytes(name.getBytes());
+        this.name = name;
+        this.player = Fakes.of(Player.class, (self, method, args) -> {
+            switch (method.getName()) {
+                case "getUniqueId":
+                    return uuid;
+                case "getName":
+                    return this.name;
+                case "getInventory":
+                    return inventory;
+                case "isOnline":
+                    return true;
+                case "getOpenInventory":
+                    return view;
+                case "openInventory":
+                    if (args[0] instanceof Inventory top) {
+                        view.getTopInventory().getViewers().remove((Player) self);
+                        view = new FakeInventoryView(top, inventory, (Player) self);
+                        top.getViewers().add((Player) self);
+                        return view;
+                    }
+                    return Fakes.UNHANDLED;
+                case "closeInventory":
+                    view.getTopInventory().getViewers().remove((Player) self);
+                    view = new FakeInventoryView(crafting, inventory, (Player) self);
+                    return null;
+                default:
+                    return Fakes.UNHANDLED;
+            }
+        });
+        this.view = new FakeInventoryView(crafting, inventory, player);
+        FakeServer.install().addPlayer(player);
+    }
+
+    /**
+     * Gets the Bukkit player backed by this fake.
+     * @return The Bukkit player
+     */
+    @NotNull
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Gets the inventory view the player is currently looking at.
+     * @return The open inventory view
+     */
+    @NotNull
+    public InventoryView getView() {
+        return view;
+    }
+}
@@ -0,0 +1,22 @@
+package de.leonheuer.mcguiapi.fake;
+
+import org.bukkit.Server;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+
+/**
+ * Plugin that can be instantiated outside a plugin class loader, using the initialization constructor of JavaPlugin.
+ */
+public class FakePlugin extends JavaPlugin {
+
+    @SuppressWarnings("deprecation")
+    public FakePlugin(@NotNull Server server, @NotNull String name) {
+        super(new JavaPluginLoader(server), new PluginDescriptionFile(name, "1.0", FakePlugin.class.getName()),
+                new File("build/tmp/fake-plugins/" + name), new File("build/tmp/fake-plugins/" + name + ".jar"));
+        setEnabled(true); // like a loaded plugin, so tasks can be scheduled for it
+    }
+}
@@ -0,0 +1,132 @@
+package de.leonheuer.mcguiapi.fake;
+
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Fake scheduler that runs main thread tasks when {@link #tick()} is called.
+ * Asynchronous tasks run on the common fork join pool.
+ */
+public final class FakeScheduler {
+
+    private final ConcurrentLinkedQueue<Task> queued = new ConcurrentLinkedQueue<>();
+    private final List<Task> tasks = new ArrayList<>();
+    private final BukkitScheduler scheduler;
+    private long currentTick = 0;
+
+    public FakeScheduler() {
+        scheduler = Fakes.of(BukkitScheduler.class, (self, method, args) -> {
+            String name = method.getName();
+            if (name.equals("getMainThreadExecutor")) {
+                return (Executor) runnable -> schedule(runnable, 0, -1);
+            }
+            if (args == null || args.length < 2 || !(args[1] instanceof Runnable runnable)) {
+                return Fakes.UNHANDLED;
+            }
+            switch (name) {
+                case "runTask":
+                    return schedule(runnable, 0, -1);
+                case "runTaskLater":
+                    return schedule(runnable, (long) args[2], -1);
+                case "runTaskTimer":
+                    return schedule(runnable, (long) args[2], (long) args[3]);
+                case "runTaskAsynchronously":
+                    Task task = new Task(runnable, 0, -1);
+                    ForkJoinPool.commonPool().execute(runnable);
+                    return task.handle;
+                default:
+                    return Fakes.UNHANDLED;
+            }
+        });
+    }
+
+    /**
+     * Gets the Bukkit scheduler backed by this fake.
+     * @return The Bukkit scheduler
+     */
+    @NotNull
+    public BukkitScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Runs all main thread tasks that are due in the next tick.
+     */
+    public void tick() {
+        currentTick++;
+        Task task;
+        while ((task = queued.poll()) != null) {
+            task.nextRun = currentTick + Math.max(task.delay, 0);
+            tasks.add(task);
+        }
+        List<Task> due = new ArrayList<>();
+        tasks.removeIf(candidate -> {
+            if (candidate.cancelled) {
+                return true;
+            }
+            if (candidate.nextRun <= currentTick) {
+                due.add(candidate);
+                return candidate.period < 0;
+            }
+            return false;
+        });
+        for (Task current : due) {
+            if (current.cancelled) {
+                continue;
+            }
+            current.runnable.run();
+            if (current.period >= 0) {
+                current.nextRun = currentTick + Math.max(current.period, 1);
+            }
+        }
+    }
+
+    /**
+     * Gets the amount of scheduled main thread tasks.
+     * @return The amount of tasks
+     */
+    public int getPendingTasks() {
+        return tasks.size() + queued.size();
+    }
+
+    @NotNull
+    private BukkitTask schedule(@NotNull Runnable runnable, long delay, long period) {
+        Task task = new Task(runnable, delay, period);
+        queued.add(task);
+        return task.handle;
+    }
+
+    private static final class Task {
+
+        private final Runnable runnable;
+        private final long delay;
+        private final long period;
+        private final BukkitTask handle;
+        private volatile boolean cancelled = false;
+        private long nextRun = 0;
+
+        private Task(@NotNull Runnable runnable, long delay, long period) {
+            this.runnable = runnable;
+            this.delay = delay;
+            this.period = period;
+            this.handle = Fakes.of(BukkitTask.class, (self, method, args) -> {
+                switch (method.getName()) {
+                    case "cancel":
+                        cancelled = true;
+                        return null;
+                    case "isCancelled":
+                        return cancelled;
+                    default:
+                        return Fakes.UNHANDLED;
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package de.leonheuer.mcguiapi.fake;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Listener;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.plugin.PluginManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * Minimal stand-in for a Bukkit server that runs without Minecraft.
+ * It creates array backed inventories, item metas stored in maps and a scheduler that is ticked manually.
+ * Registered listeners are collected, but events are never fired by the fake itself.
+ * By default, every thread counts as the main thread. Use {@link #setMainThread(Thread)} to run code
+ * off the main thread like on a real server.
+ */
+public final class FakeServer {
+
+    private static FakeServer instance;
+
+    private final Logger logger = Logger.getLogger("FakeServer");
+    private final FakeScheduler scheduler = new FakeScheduler();
+    private final ItemFactory itemFactory = FakeItemFactory.create();
+    private final List<Listener> listeners = new ArrayList<>();
+    private final Map<UUID, Player> players = new ConcurrentHashMap<>();
+    private final Server server;
+    private volatile Thread mainThread = null;
+
+    private FakeServer() {
+        PluginManager pluginManager = Fakes.of(PluginManager.class, (self, method, args) -> {
+            if (method.getName().equals("registerEvents")) {
+                listeners.add((Listener) args[0]);
+                return null;
+            }
+            return Fakes.UNHANDLED;
+        });
+        server = Fakes.of(Server.class, (self, method, args) -> {
+            switch (method.getName()) {
+                case "getLogger":
+                    return logger;
+                case "getName":
+                    return "FakeServer";
+                case "getVersion":
+                case "getBukkitVersion":
+                case "getMinecraftVersion":
+                    return "1.18.2";
+                case "getPluginManager":
+                    return pluginManager;
+                case "getScheduler":
+                    return scheduler.getScheduler();
+                case "getItemFactory":
+                    return itemFactory;
+                case "isPrimaryThread":
+                    return mainThread == null || mainThread == Thread.currentThread();
+                case "createInventory":
+                    return FakeInventory.create((int) args[1]);
+                case "getPlayer":
+                    return args[0] instanceof UUID uuid ? players.get(uuid) : Fakes.UNHANDLED;
+                default:
+                    return Fakes.UNHANDLED;
+            }
+        });
+    }
+
+    /**
+     * Installs the fake server as the Bukkit server. Subsequent calls return the same instance.
+     * @return The fake server
+     */
+    @NotNull
+    public static synchronized FakeServer install() {
+        if (instance == null) {
+            instance = new FakeServer();
+            Bukkit.setServer(instance.server);
+        }
+        return instance;
+    }
+
+    /**
+     * Gets the Bukkit server backed by this fake.
+     * @return The Bukkit server
+     */
+    @NotNull
+    public Server getServer() {
+        return server;
+    }
+
+    /**
+     * Gets the scheduler of the fake server.
+     * @return The scheduler
+     */
+    @NotNull
+    public FakeScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Sets the thread that counts as the main thread. It should be the thread that calls {@link FakeScheduler#tick()}.
+     * @param thread The main thread, or null to treat every thread as the main thread
+     */
+    public void setMainThread(@Nullable Thread thread) {
+        mainThread = thread;
+    }
+
+    /**
+     * Adds a player to the fake server, so it can be looked up by its UUID.
+     * @param player The player
+     */
+    public void addPlayer(@NotNull Player player) {
+        players.put(player.getUniqueId(), player);
+    }
+
+    /**
+     * Removes a player from the fake server.
+     * @param player The player
+     */
+    public void removePlayer(@NotNull Player player) {
+        players.remove(player.getUniqueId());
+    }
+
+    /**
+     * Gets all listeners that have been registered to the fake server.
+     * @return The registered listeners
+     */
+    @NotNull
+    public List<Listener> getListeners() {
+        return listeners;
+    }
+}
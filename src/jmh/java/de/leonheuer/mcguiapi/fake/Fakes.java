@@ -0,0 +1,101 @@
+package de.leonheuer.mcguiapi.fake;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Helpers for creating fakes of Bukkit interfaces. Every method that is not handled explicitly
+ * returns a neutral default value, so only the methods used by the GUI API have to be implemented.
+ */
+public final class Fakes {
+
+    private Fakes() {
+    }
+
+    /**
+     * Creates a fake implementing the specified interface.
+     * @param type The interface to implement
+     * @param handler Handler for the methods of the interface, returning {@link #UNHANDLED} for unknown methods
+     * @param <T> The type of the interface
+     * @return The fake
+     */
+    @NotNull
+    public static <T> T of(@NotNull Class<T> type, @NotNull InvocationHandler handler) {
+        Object proxy = Proxy.newProxyInstance(Fakes.class.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    if (method.getParameterCount() == 1) {
+                        return self == args[0];
+                    }
+                    break;
+                case "hashCode":
+                    if (method.getParameterCount() == 0) {
+                        return System.identityHashCode(self);
+                    }
+                    break;
+                case "toString":
+                    if (method.getParameterCount() == 0) {
+                        return "Fake" + type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(self));
+                    }
+                    break;
+                default:
+                    break;
+            }
+            Object result = handler.invoke(self, method, args);
+            return result == UNHANDLED ? defaultValue(method) : result;
+        });
+        return type.cast(proxy);
+    }
+
+    /**
+     * Marker returned by handlers for methods that should return a default value.
+     */
+    public static final Object UNHANDLED = new Object();
+
+    @Nullable
+    private static Object defaultValue(@NotNull Method method) {
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0D;
+        }
+        if (type == float.class) {
+            return 0F;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        if (type == char.class) {
+            return (char) 0;
+        }
+        if (type == List.class) {
+            return Collections.emptyList();
+        }
+        if (type == Set.class) {
+            return Collections.emptySet();
+        }
+        if (type == Map.class) {
+            return Collections.emptyMap();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,67 @@
+package de.leonheuer.mcguiapi.gui;
+
+import de.leonheuer.mcguiapi.fake.FakePlayer;
+import de.leonheuer.mcguiapi.fake.FakePlugin;
+import de.leonheuer.mcguiapi.fake.FakeServer;
+import org.bukkit.Material;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of dispatching a click to its GUI while the specified amount of GUIs is registered.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClickDispatchBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int guiCount;
+
+    private GUIListener listener;
+    private InventoryClickEvent event;
+    private int clicks = 0;
+
+    @Setup
+    public void setup() {
+        FakeServer server = FakeServer.install();
+        FakePlugin plugin = new FakePlugin(server.getServer(), "ClickDispatch" + guiCount);
+        GUIFactory factory = new GUIFactory(plugin);
+        listener = GUIListener.of(plugin);
+        ItemStack item = new ItemStack(Material.DIAMOND);
+        GUI target = null;
+        for (int i = 0; i < guiCount; i++) {
+            target = factory.createGUI(6, "GUI " + i)
+                    .setItem(13, item, event -> clicks++);
+        }
+        FakePlayer player = new FakePlayer("Clicker");
+        target.show(player.getPlayer());
+        event = new InventoryClickEvent(player.getView(), InventoryType.SlotType.CONTAINER, 13,
+                ClickType.LEFT, InventoryAction.PICKUP_ALL);
+    }
+
+    @Benchmark
+    public int dispatchClick() {
+        listener.onInventoryClick(event);
+        return clicks;
+    }
+}
@@ -0,0 +1,55 @@
+package de.leonheuer.mcguiapi.gui;
+
+import de.leonheuer.mcguiapi.fake.FakePlugin;
+import de.leonheuer.mcguiapi.fake.FakeServer;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures applying a border pattern to a GUI with six rows.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatPatternBenchmark {
+
+    private GUI gui;
+    private GUIPattern pattern;
+
+    @Setup
+    public void setup() {
+        FakeServer server = FakeServer.install();
+        GUIFactory factory = new GUIFactory(new FakePlugin(server.getServer(), "FormatPattern"));
+        gui = factory.createGUI(6, "Pattern");
+        pattern = GUIPattern.ofPattern(
+                "#########",
+                "#.......#",
+                "#.......#",
+                "#.......#",
+                "#.......#",
+                "####x####"
+        )
+                .withMaterial('#', new ItemStack(Material.GRAY_STAINED_GLASS_PANE))
+                .withMaterial('x', new ItemStack(Material.BARRIER));
+    }
+
+    @Benchmark
+    public GUI formatPattern() {
+        return gui.formatPattern(pattern);
+    }
+}
@@ -0,0 +1,60 @@
+package de.leonheuer.mcguiapi.gui;
+
+import de.leonheuer.mcguiapi.fake.FakePlugin;
+import de.leonheuer.mcguiapi.fake.FakeServer;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures creating GUIs through the factory, directly and from a template.
+ * Every created GUI is disposed again so the registry does not grow during the measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GUICreationBenchmark {
+
+    private GUIFactory factory;
+    private GUITemplate template;
+
+    @Setup
+    public void setup() {
+        FakeServer server = FakeServer.install();
+        factory = new GUIFactory(new FakePlugin(server.getServer(), "GUICreation"));
+        ItemStack filler = new ItemStack(Material.GRAY_STAINED_GLASS_PANE);
+        template = GUITemplate.create(6, "Shop", gui -> {
+            for (int i = 0; i < 54; i++) {
+                gui.setItem(i, filler, event -> event.setCancelled(true));
+            }
+        });
+    }
+
+    @Benchmark
+    public GUI createGUI() {
+        GUI gui = factory.createGUI(6, "Shop");
+        gui.dispose();
+        return gui;
+    }
+
+    @Benchmark
+    public GUI createGUIFromTemplate() {
+        GUI gui = factory.createGUI(template);
+        gui.dispose();
+        return gui;
+    }
+}
@@ -0,0 +1,274 @@
+package de.leonheuer.mcguiapi.gui;
+
+import de.leonheuer.mcguiapi.fake.FakePlayer;
+import de.leonheuer.mcguiapi.fake.FakeServer;
+import org.bukkit.Material;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Deterministic scenarios for races and ordering rules of the GUI API. They run on the main thread of the fake server
+ * before the load simulation of the {@link StressHarness}, and every GUI and player they create is gone afterwards,
+ * so the leak checks of the harness still apply to the whole run.
+ */
+final class RegressionScenarios {
+
+    private final FakeServer server;
+    private final GUIFactory factory;
+    private final GUIListener listener;
+    private final ItemStack placeholder = new ItemStack(Material.GRAY_STAINED_GLASS_PANE);
+    private final ItemStack loaded = new ItemStack(Material.PAPER);
+    private final ItemStack written = new ItemStack(Material.DIAMOND);
+
+    RegressionScenarios(@NotNull FakeServer server, @NotNull GUIFactory factory, @NotNull GUIListener listener) {
+        this.server = server;
+        this.factory = factory;
+        this.listener = listener;
+    }
+
+    // returns whether all scenarios passed
+    boolean run() {
+        boolean passed = asyncLoadAfterWrite();
+        passed &= asyncBatchAfterBulkWrite();
+        passed &= cooldownsPerViewer();
+        passed &= sharedOverlays();
+        passed &= poolAfterAutoDispose();
+        passed &= personalizedRendering();
+        passed &= disposeWithQueuedChange();
+        passed &= firstOffThreadSnapshot();
+        return passed;
+    }
+
+    // an item that finishes loading after its slot has been written again must not overwrite the newer item
+    private boolean asyncLoadAfterWrite() {
+        GUI gui = factory.createGUI(1);
+        CompletableFuture<ItemStack> item = new CompletableFuture<>();
+        gui.setItemAsync(0, placeholder, item);
+        gui.setItem(0, written);
+        item.complete(loaded);
+        server.getScheduler().tick();
+        boolean passed = check(same(gui.getInv().getItem(0), written), "async load after write",
+                "the loaded item replaced a newer write");
+        gui.dispose();
+        return passed;
+    }
+
+    // a bulk write only outdates the items of the slots it changed, and invalid indices do not stop the batch
+    private boolean asyncBatchAfterBulkWrite() {
+        GUI gui = factory.createGUI(1);
+        CompletableFuture<Map<Integer, ItemStack>> items = new CompletableFuture<>();
+        gui.setItemsAsync(items);
+        gui.setItems(Map.of(1, written));
+        Map<Integer, ItemStack> result = new HashMap<>();
+        result.put(1, loaded);
+        result.put(2, loaded);
+        result.put(99, loaded);
+        items.complete(result);
+        CompletableFuture<Void> change = gui.queue(current -> current.setItem(3, written));
+        server.getScheduler().tick();
+        boolean passed = check(same(gui.getInv().getItem(1), written), "async batch after bulk write",
+                "the loaded item replaced a newer bulk write");
+        passed &= check(same(gui.getInv().getItem(2), loaded), "async batch after bulk write",
+                "the item of a slot the bulk write did not change was discarded");
+        passed &= check(change.isDone() && same(gui.getInv().getItem(3), written), "async batch after bulk write",
+                "an invalid index stopped the queued changes of the same tick");
+        gui.dispose();
+        return passed;
+    }
+
+    // a click of one viewer must not put the other viewers of the same GUI on cooldown
+    private boolean cooldownsPerViewer() {
+        FakePlayer first = new FakePlayer("Scenario0");
+        FakePlayer second = new FakePlayer("Scenario1");
+        AtomicInteger clicks = new AtomicInteger();
+        GUI gui = factory.createGUI(1)
+                .setItem(0, written, event -> clicks.incrementAndGet())
+                .setItem(1, written, event -> clicks.incrementAndGet())
+                .setSlotCooldown(1, 1, TimeUnit.HOURS);
+        gui.show(first.getPlayer());
+        gui.show(second.getPlayer());
+        click(first, 1);
+        click(second, 1);
+        click(first, 0);
+        click(first, 1);
+        boolean passed = check(clicks.get() == 3, "cooldowns per viewer",
+                "expected 3 click actions to run, but " + clicks.get() + " ran");
+        passed &= check(gui.getDroppedClicks() == 1, "cooldowns per viewer",
+                "expected 1 dropped click, but " + gui.getDroppedClicks() + " were dropped");
+        gui.dispose();
+
+        gui = factory.createGUI(1)
+                .setItem(0, written, event -> clicks.incrementAndGet())
+                .setClickCooldown(1, TimeUnit.HOURS);
+        gui.show(first.getPlayer());
+        gui.show(second.getPlayer());
+        click(first, 0);
+        click(second, 0);
+        click(first, 0);
+        passed &= check(clicks.get() == 5 && gui.getDroppedClicks() == 1, "cooldowns per viewer",
+                "the click cooldown of one viewer dropped the click of another viewer");
+        quit(first);
+        quit(second);
+        gui.dispose();
+        return passed;
+    }
+
+    // bulk writes reach every copy without replacing personal items, which are only kept for players with a copy
+    private boolean sharedOverlays() {
+        FakePlayer first = new FakePlayer("Scenario0");
+        FakePlayer second = new FakePlayer("Scenario1");
+        SharedGUI gui = factory.createSharedGUI(1).setOverlaySlots(1);
+        gui.setItem(0, placeholder, true).setItem(1, placeholder);
+        gui.setOverlay(first.getPlayer(), 1, loaded);
+        gui.show(first.getPlayer());
+        gui.show(second.getPlayer());
+        boolean passed = check(same(first.getView().getTopInventory().getItem(1), placeholder), "shared overlays",
+                "a personal item set before the player opened the GUI was kept");
+        gui.setOverlay(first.getPlayer(), 1, loaded);
+        passed &= check(click(first, 0).isCancelled(), "shared overlays",
+                "an item could be taken out of the copy of a viewer");
+        gui.setItems(Map.of(0, written, 1, written));
+        passed &= check(same(first.getView().getTopInventory().getItem(0), written)
+                && same(second.getView().getTopInventory().getItem(0), written), "shared overlays",
+                "a bulk write did not reach the copy of every viewer");
+        passed &= check(same(first.getView().getTopInventory().getItem(1), loaded), "shared overlays",
+                "a bulk write replaced a personal item");
+        passed &= check(same(second.getView().getTopInventory().getItem(1), written), "shared overlays",
+                "a personal item was shown to another viewer");
+        quit(first);
+        quit(second);
+        gui.dispose();
+        return passed;
+    }
+
+    // the closing viewer still looks at the inventory while the close event is handled, so it is pooled a tick later
+    private boolean poolAfterAutoDispose() {
+        FakePlayer player = new FakePlayer("Scenario0");
+        factory.setInventoryPooling(4);
+        GUI gui = factory.createGUI(1).setAutoDispose(true).setItem(0, written);
+        gui.show(player.getPlayer());
+        listener.onInventoryClose(new InventoryCloseEvent(player.getView()));
+        player.getPlayer().closeInventory();
+        boolean passed = check(gui.isDisposed(), "pool after auto dispose", "the GUI was not disposed automatically");
+        server.getScheduler().tick();
+        passed &= check(factory.getPooledInventoryCount() == 1, "pool after auto dispose",
+                "the inventory of the auto-disposed GUI was not returned to the pool");
+        GUI next = factory.createGUI(1);
+        passed &= check(next.getInv() == gui.getInv() && next.getInv().getItem(0) == null, "pool after auto dispose",
+                "the pooled inventory was not reused in a cleared state");
+        next.dispose();
+        factory.setInventoryPooling(0);
+        quit(player);
+        return passed;
+    }
+
+    // dynamic slots stay rendered after the overlay slots are replaced, and leaving the GUI discards the cache
+    private boolean personalizedRendering() {
+        FakePlayer player = new FakePlayer("Scenario0");
+        AtomicInteger renders = new AtomicInteger();
+        PersonalizedGUI gui = factory.createPersonalizedGUI(1)
+                .setDynamicItem(0, viewer -> new ItemStack(Material.PAPER, renders.incrementAndGet()));
+        gui.setOverlaySlots(2);
+        gui.show(player.getPlayer());
+        ItemStack shown = player.getView().getTopInventory().getItem(0);
+        boolean passed = check(same(shown, loaded) && shown.getAmount() == 1, "personalized rendering",
+                "a dynamic slot was not rendered after the overlay slots were replaced");
+        gui.show(player.getPlayer());
+        passed &= check(renders.get() == 1, "personalized rendering",
+                "showing the GUI again to its viewer rendered the dynamic slots again");
+        listener.onInventoryClose(new InventoryCloseEvent(player.getView()));
+        player.getPlayer().closeInventory();
+        gui.show(player.getPlayer());
+        shown = player.getView().getTopInventory().getItem(0);
+        passed &= check(renders.get() == 2 && shown != null && shown.getAmount() == 2, "personalized rendering",
+                "the rendered items of a viewer were kept after they left the GUI");
+        quit(player);
+        gui.dispose();
+        return passed;
+    }
+
+    // changes still queued when the GUI is disposed, or queued afterwards, are skipped but their futures complete
+    private boolean disposeWithQueuedChange() {
+        GUI gui = factory.createGUI(1);
+        AtomicInteger applied = new AtomicInteger();
+        CompletableFuture<Void> queued = gui.queue(current -> applied.incrementAndGet());
+        gui.dispose();
+        boolean passed = check(queued.isDone(), "dispose with queued change",
+                "a queued change did not complete when the GUI was disposed");
+        CompletableFuture<Void> late = gui.queue(current -> applied.incrementAndGet());
+        server.getScheduler().tick();
+        passed &= check(late.isDone(), "dispose with queued change",
+                "a change queued to a disposed GUI never completed");
+        passed &= check(applied.get() == 0, "dispose with queued change", "a change was applied to a disposed GUI");
+        return passed;
+    }
+
+    // the first snapshot read from another thread shows the current contents, and later ones follow at the next tick
+    private boolean firstOffThreadSnapshot() {
+        GUI gui = factory.createGUI(1).setItem(0, written);
+        CompletableFuture<GUISnapshot> first = CompletableFuture.supplyAsync(gui::getSnapshot);
+        awaitOnMainThread(first);
+        boolean passed = check(first.isDone() && same(first.join().getItem(0), written), "first off-thread snapshot",
+                "the first snapshot read from another thread did not show the current contents");
+        gui.setItem(0, loaded);
+        server.getScheduler().tick();
+        CompletableFuture<GUISnapshot> next = CompletableFuture.supplyAsync(gui::getSnapshot);
+        awaitOnMainThread(next);
+        passed &= check(next.isDone() && same(next.join().getItem(0), loaded), "first off-thread snapshot",
+                "a snapshot read from another thread was more than one tick old");
+        gui.dispose();
+        return passed;
+    }
+
+    // ticks the scheduler until the future completes, as the other thread may wait for the main thread
+    private void awaitOnMainThread(@NotNull CompletableFuture<?> future) {
+        try {
+            for (int i = 0; i < 100 && !future.isDone(); i++) {
+                server.getScheduler().tick();
+                Thread.sleep(10);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @NotNull
+    private InventoryClickEvent click(@NotNull FakePlayer player, int slot) {
+        InventoryClickEvent event = new InventoryClickEvent(player.getView(), InventoryType.SlotType.CONTAINER, slot,
+                ClickType.LEFT, InventoryAction.PICKUP_ALL);
+        listener.onInventoryClick(event);
+        return event;
+    }
+
+    // a quitting player closes the open inventory after the quit event, like on a real server
+    private void quit(@NotNull FakePlayer player) {
+        listener.onPlayerQuit(new PlayerQuitEvent(player.getPlayer(), "quit"));
+        player.getPlayer().closeInventory();
+        server.removePlayer(player.getPlayer());
+    }
+
+    private static boolean same(@Nullable ItemStack item, @NotNull ItemStack expected) {
+        return item != null && Objects.equals(item.getType(), expected.getType());
+    }
+
+    private static boolean check(boolean condition, @NotNull String scenario, @NotNull String failure) {
+        if (!condition) {
+            System.out.println("FAILED: " + scenario + ": " + failure);
+        }
+        return condition;
+    }
+}
@@ -0,0 +1,297 @@
+package de.leonheuer.mcguiapi.gui;
+
+import de.leonheuer.mcguiapi.fake.FakePlayer;
+import de.leonheuer.mcguiapi.fake.FakePlugin;
+import de.leonheuer.mcguiapi.fake.FakeServer;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.entity.PlayerDeathEvent;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.event.inventory.InventoryAction;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load simulation that runs the GUI API against the fake server with many GUIs and players at once.
+ * Every simulated tick, each player either opens a random GUI or fires a random click, close, quit or death event
+ * through the listener. The harness thread is the main thread of the fake server, so asynchronous click actions,
+ * items loaded with {@link GUI#setItemAsync}, and changes and snapshots requested from worker threads take the same
+ * paths as on a real server. All GUIs are disposed automatically when their last viewer leaves. At the end, all
+ * players quit and the harness reports the event throughput, tick time percentiles, click dispatch time and the heap
+ * retained afterwards. Before the load, the {@link RegressionScenarios} replay races and ordering rules that have
+ * been fixed before.
+ * <p>
+ * Run it with {@code ./gradlew stressTest -Pguis=1000 -Pplayers=2000 -Pticks=600}. The harness exits with a non-zero
+ * status if a regression scenario fails, if GUIs are still alive or the listener still tracks players after everyone quit, if queued changes never
+ * completed, or if the retained heap exceeds {@code -PmaxRetainedKiB}, so it can be used as a leak check in CI.
+ * Timings depend on the machine, so the p99 tick time and the average click dispatch time are only checked
+ * if {@code -PmaxTickMillis} and {@code -PmaxClickMicros} are given.
+ */
+@SuppressWarnings("deprecation")
+public final class StressHarness {
+
+    private final int guiCount;
+    private final int playerCount;
+    private final int tickCount;
+    private final double maxTickMillis;
+    private final double maxClickMicros;
+    private final double maxRetainedKiB;
+    private final Random random;
+    private final FakeServer server = FakeServer.install();
+    private final GUIFactory factory;
+    private final GUIListener listener;
+    private final List<GUI> guis = new ArrayList<>();
+    private final List<FakePlayer> players = new ArrayList<>();
+    private final ItemStack item = new ItemStack(Material.DIAMOND);
+    private final ExecutorService workers = Executors.newFixedThreadPool(4, runnable -> {
+        Thread thread = new Thread(runnable, "StressHarness worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final LongAdder asyncClicks = new LongAdder();
+    private final AtomicInteger pendingChanges = new AtomicInteger(); // queued changes whose future is not complete
+    private long offThreadCalls = 0;
+    private long events = 0;
+    private long clicks = 0;
+    private long clickEvents = 0;
+    private long clickTime = 0;
+
+    private StressHarness(int guiCount, int playerCount, int tickCount, long seed, double maxTickMillis,
+                          double maxClickMicros, double maxRetainedKiB) {
+        this.guiCount = guiCount;
+        this.playerCount = playerCount;
+        this.tickCount = tickCount;
+        this.maxTickMillis = maxTickMillis;
+        this.maxClickMicros = maxClickMicros;
+        this.maxRetainedKiB = maxRetainedKiB;
+        this.random = new Random(seed);
+        FakePlugin plugin = new FakePlugin(server.getServer(), "StressHarness");
+        factory = new GUIFactory(plugin);
+        listener = GUIListener.of(plugin);
+    }
+
+    public static void main(String[] args) {
+        int guis = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int ticks = args.length > 2 ? Integer.parseInt(args[2]) : 600;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42L;
+        double maxTickMillis = args.length > 4 ? Double.parseDouble(args[4]) : 0;
+        double maxClickMicros = args.length > 5 ? Double.parseDouble(args[5]) : 0;
+        double maxRetainedKiB = args.length > 6 ? Double.parseDouble(args[6]) : 4096;
+        boolean passed = new StressHarness(guis, players, ticks, seed, maxTickMillis, maxClickMicros, maxRetainedKiB)
+                .run();
+        System.exit(passed ? 0 : 1);
+    }
+
+    // returns whether nothing leaked and all thresholds were met
+    private boolean run() {
+        server.setMainThread(Thread.currentThread());
+        boolean scenarios = new RegressionScenarios(server, factory, listener).run();
+        long baseline = usedHeap();
+        // GUIs are created when they are opened for the first time, so every GUI gets a viewer and is auto-disposed
+        for (int i = 0; i < guiCount; i++) {
+            guis.add(null);
+        }
+        for (int i = 0; i < playerCount; i++) {
+            players.add(new FakePlayer("Player" + i));
+        }
+
+        long[] tickTimes = new long[tickCount];
+        long start = System.nanoTime();
+        for (int tick = 0; tick < tickCount; tick++) {
+            long tickStart = System.nanoTime();
+            for (FakePlayer player : players) {
+                simulate(player);
+            }
+            server.getScheduler().tick();
+            tickTimes[tick] = System.nanoTime() - tickStart;
+        }
+        long duration = System.nanoTime() - start;
+
+        for (FakePlayer player : players) {
+            quit(player);
+            server.removePlayer(player.getPlayer());
+        }
+        server.getScheduler().tick();
+        awaitAsyncWork();
+        players.clear();
+        guis.clear();
+        long retained = usedHeap() - baseline;
+        Arrays.sort(tickTimes);
+        double tickP99 = percentile(tickTimes, 0.99);
+        double clickMicros = clickEvents == 0 ? 0 : clickTime / 1e3 / clickEvents;
+
+        System.out.printf("GUIs: %d, players: %d, ticks: %d%n", guiCount, playerCount, tickCount);
+        System.out.printf("Events: %d (%d clicks), throughput: %.0f events/s%n",
+                events, clicks, events / (duration / 1e9));
+        System.out.printf("Tick time p50: %.3f ms, p95: %.3f ms, p99: %.3f ms, max: %.3f ms%n",
+                percentile(tickTimes, 0.50), percentile(tickTimes, 0.95), percentile(tickTimes, 0.99),
+                tickTimes[tickTimes.length - 1] / 1e6);
+        System.out.printf("Average click dispatch time: %.3f us%n", clickMicros);
+        System.out.printf("Async clicks: %d, off-thread changes and snapshots: %d, incomplete changes: %d%n",
+                asyncClicks.sum(), offThreadCalls, pendingChanges.get());
+        System.out.printf("Dropped clicks: %d, created GUIs: %d, disposed GUIs: %d, live GUIs: %d%n",
+                factory.getDroppedClickCount(), factory.getLiveGUICount() + factory.getDisposedGUICount(),
+                factory.getDisposedGUICount(), factory.getLiveGUICount());
+        System.out.printf("Retained heap after all players quit: %.1f KiB%n", retained / 1024.0);
+        System.out.printf("Tracked by the listener: %d inventories, %d sessions, %d histories, %d throttled players%n",
+                listener.getRegisteredInventoryCount(), listener.getSessionCount(),
+                listener.getNavigation().getTrackedPlayerCount(), listener.getThrottledPlayerCount());
+
+        boolean passed = check(scenarios, "regression scenarios failed");
+        passed &= check(factory.getLiveGUICount() == 0, "GUIs are still alive");
+        passed &= check(listener.getRegisteredInventoryCount() == 0, "inventories are still registered");
+        passed &= check(listener.getSessionCount() == 0, "sessions are still open");
+        passed &= check(listener.getNavigation().getTrackedPlayerCount() == 0, "histories are still kept");
+        passed &= check(listener.getThrottledPlayerCount() == 0, "click windows are still kept");
+        passed &= check(pendingChanges.get() == 0, "queued changes never completed");
+        passed &= check(retained / 1024.0 <= maxRetainedKiB, "retained heap exceeds " + maxRetainedKiB + " KiB");
+        passed &= check(maxTickMillis <= 0 || tickP99 <= maxTickMillis,
+                "p99 tick time exceeds " + maxTickMillis + " ms");
+        passed &= check(maxClickMicros <= 0 || clickMicros <= maxClickMicros,
+                "click dispatch time exceeds " + maxClickMicros + " us");
+        return passed;
+    }
+
+    // lets the worker threads finish and runs the main thread tasks they scheduled
+    private void awaitAsyncWork() {
+        workers.shutdown();
+        try {
+            for (int i = 0; i < 100 && (!workers.awaitTermination(10, TimeUnit.MILLISECONDS)
+                    || pendingChanges.get() != 0); i++) {
+                server.getScheduler().tick();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        server.getScheduler().tick();
+    }
+
+    private static boolean check(boolean condition, @NotNull String failure) {
+        if (!condition) {
+            System.out.println("FAILED: " + failure);
+        }
+        return condition;
+    }
+
+    private void simulate(@NotNull FakePlayer fake) {
+        Player player = fake.getPlayer();
+        if (listener.getSession(player.getUniqueId()) == null) {
+            openRandomGUI(player);
+            return;
+        }
+        int roll = random.nextInt(100);
+        if (roll < 83) {
+            click(fake);
+        } else if (roll < 85) {
+            offThread(listener.getSession(player.getUniqueId()));
+        } else if (roll < 95) {
+            close(fake);
+        } else if (roll < 98) {
+            quit(fake);
+        } else {
+            events++;
+            listener.onPlayerDeath(new PlayerDeathEvent(player, new ArrayList<>(), 0, "died"));
+            player.closeInventory();
+        }
+    }
+
+    // disposed GUIs are replaced by new ones, so GUIs are created and disposed all the time
+    private void openRandomGUI(@NotNull Player player) {
+        int index = random.nextInt(guis.size());
+        GUI gui = guis.get(index);
+        if (gui == null || gui.isDisposed()) {
+            gui = createGUI(index);
+            guis.set(index, gui);
+        }
+        gui.show(player);
+    }
+
+    private void click(@NotNull FakePlayer player) {
+        events++;
+        clickEvents++;
+        InventoryClickEvent event = new InventoryClickEvent(player.getView(), InventoryType.SlotType.CONTAINER,
+                random.nextInt(54), ClickType.LEFT, InventoryAction.PICKUP_ALL);
+        long start = System.nanoTime();
+        listener.onInventoryClick(event);
+        clickTime += System.nanoTime() - start;
+    }
+
+    // reads a snapshot and queues a change from a worker thread, like a plugin reacting to a database result
+    private void offThread(@NotNull GUI gui) {
+        events++;
+        offThreadCalls++;
+        int slot = random.nextInt(45);
+        workers.execute(() -> {
+            gui.getSnapshot();
+            queueChange(gui.queue(current -> current.setItem(slot, item)));
+        });
+    }
+
+    private void queueChange(@NotNull CompletableFuture<Void> future) {
+        pendingChanges.incrementAndGet();
+        future.whenComplete((result, throwable) -> pendingChanges.decrementAndGet());
+    }
+
+    // a quitting player closes the open inventory after the quit event, like on a real server
+    private void quit(@NotNull FakePlayer player) {
+        events++;
+        listener.onPlayerQuit(new PlayerQuitEvent(player.getPlayer(), "quit"));
+        player.getPlayer().closeInventory();
+    }
+
+    private void close(@NotNull FakePlayer player) {
+        if (listener.getSession(player.getPlayer().getUniqueId()) == null) {
+            return;
+        }
+        events++;
+        listener.onInventoryClose(new InventoryCloseEvent(player.getView()));
+        player.getPlayer().closeInventory();
+    }
+
+    @NotNull
+    private GUI createGUI(int index) {
+        GUI gui = factory.createGUI(6, "GUI " + index).setAutoDispose(true);
+        for (int slot = 0; slot < 45; slot++) {
+            gui.setItem(slot, item, event -> clicks++);
+        }
+        // the last row runs its actions on the executor of the listener and writes back through the queue
+        for (int slot = 45; slot < 54; slot++) {
+            gui.setItem(slot, item);
+            gui.setAsyncClickAction(slot, context -> {
+                asyncClicks.increment();
+                queueChange(context.sync(current -> current.setItem(context.getSlot(), item)));
+            });
+        }
+        gui.setItemAsync(4, item, CompletableFuture.supplyAsync(() -> item, workers));
+        return gui;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+}
@@ -0,0 +1,62 @@
+package de.leonheuer.mcguiapi.utils;
+
+import de.leonheuer.mcguiapi.fake.FakeServer;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures typical item builder chains used for GUI items.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ItemBuilderBenchmark {
+
+    @Setup
+    public void setup() {
+        FakeServer.install();
+    }
+
+    @Benchmark
+    public ItemStack simpleItem() {
+        return ItemBuilder.of(Material.GRAY_STAINED_GLASS_PANE).name(" ").asItem();
+    }
+
+    @Benchmark
+    public ItemStack decoratedItem() {
+        return ItemBuilder.of(Material.DIAMOND)
+                .amount(3)
+                .name("&bDiamond &7(&ax3&7)")
+                .description("&7Price: &e100 coins", "&7Stock: &a42", "", "&eClick to buy")
+                .addFlags(ItemFlag.HIDE_ATTRIBUTES)
+                .glowing()
+                .asItem();
+    }
+
+    @Benchmark
+    public ItemStack internedItem() {
+        return ItemBuilder.of(Material.DIAMOND)
+                .amount(3)
+                .name("&bDiamond &7(&ax3&7)")
+                .description("&7Price: &e100 coins", "&7Stock: &a42", "", "&eClick to buy")
+                .addFlags(ItemFlag.HIDE_ATTRIBUTES)
+                .glowing()
+                .asInternedItem();
+    }
+}
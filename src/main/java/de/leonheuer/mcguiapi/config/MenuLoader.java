@@ -0,0 +1,235 @@
+package de.leonheuer.mcguiapi.config;
+
+import de.leonheuer.mcguiapi.exceptions.ForbiddenRowAmountException;
+import de.leonheuer.mcguiapi.exceptions.InvalidMenuException;
+import de.leonheuer.mcguiapi.gui.GUI;
+import de.leonheuer.mcguiapi.gui.GUIFactory;
+import de.leonheuer.mcguiapi.gui.GUIPattern;
+import de.leonheuer.mcguiapi.gui.GUITemplate;
+import de.leonheuer.mcguiapi.utils.ItemBuilder;
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Loads menu definitions from YAML or JSON files in a directory. The name of a menu is its file name without
+ * the extension, e.g. {@code shop.yml} defines the menu {@code shop}. A definition looks like this:
+ * <pre>
+ * title: "&amp;6Shop"
+ * rows: 3
+ * pattern:
+ *   - "#########"
+ *   - "#   d   #"
+ *   - "#########"
+ * items:
+ *   "#":
+ *     material: GRAY_STAINED_GLASS_PANE
+ *     name: " "
+ *   d:
+ *     material: DIAMOND
+ *     name: "&amp;bDiamond"
+ *     lore: ["&amp;7Costs 100 coins"]
+ *     amount: 1
+ *     glowing: true
+ *     action: buy_diamond
+ * </pre>
+ * Each file is compiled into a {@link GUITemplate} when it is loaded, so opening a menu does not parse anything.
+ * A file is only loaded again when its modification time has changed. Actions are referenced by name and must be
+ * registered with {@link #registerAction(String, Consumer)} before the menus using them are loaded.
+ */
+@SuppressWarnings("unused")
+public class MenuLoader {
+
+    private final File directory;
+    private final Map<String, Consumer<InventoryClickEvent>> actions = new HashMap<>();
+    private final Map<String, LoadedMenu> menus = new HashMap<>();
+
+    /**
+     * Creates a loader for the menu files in the specified directory.
+     * @param directory The directory containing the menu files
+     */
+    public MenuLoader(@NotNull File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Registers an action that menu items can reference by its name.
+     * Menus that have already been loaded are compiled again the next time they are requested.
+     * @param name The name of the action
+     * @param action Action to be executed when an item referencing it is clicked
+     * @return The current loader instance
+     */
+    @NotNull
+    public MenuLoader registerAction(@NotNull String name, @NotNull Consumer<InventoryClickEvent> action) {
+        actions.put(name, action);
+        menus.clear();
+        return this;
+    }
+
+    /**
+     * Loads all menu files of the directory that have not been loaded yet or have changed since.
+     * @return The current loader instance
+     * @throws InvalidMenuException if a menu file is invalid
+     */
+    @NotNull
+    public MenuLoader loadAll() {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return this;
+        }
+        for (File file : files) {
+            String name = menuName(file);
+            if (name != null) {
+                getMenu(name);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Gets the compiled menu with the specified name. The menu file is only parsed if it has not been loaded yet
+     * or its modification time has changed.
+     * @param name The name of the menu
+     * @return The compiled menu
+     * @throws InvalidMenuException if there is no such menu or its file is invalid
+     */
+    @NotNull
+    public GUITemplate getMenu(@NotNull String name) {
+        LoadedMenu loaded = menus.get(name);
+        File file = loaded != null ? loaded.file : findFile(name);
+        if (file == null) {
+            throw new InvalidMenuException("There is no menu file for the menu " + name + ".");
+        }
+        long lastModified = file.lastModified();
+        if (loaded == null || loaded.lastModified != lastModified) {
+            loaded = new LoadedMenu(file, lastModified, compile(file));
+            menus.put(name, loaded);
+        }
+        return loaded.template;
+    }
+
+    /**
+     * Creates a GUI from the menu with the specified name and shows it to the player.
+     * The GUI is disposed automatically when the player leaves it.
+     * @param factory The factory to create the GUI with
+     * @param name The name of the menu
+     * @param player The player to show the menu to
+     * @return The created GUI
+     * @throws InvalidMenuException if there is no such menu or its file is invalid
+     */
+    @NotNull
+    public GUI open(@NotNull GUIFactory factory, @NotNull String name, @NotNull Player player) {
+        GUI gui = factory.createGUI(getMenu(name)).setName(name).setAutoDispose(true);
+        gui.show(player);
+        return gui;
+    }
+
+    @NotNull
+    private GUITemplate compile(@NotNull File file) {
+        YamlConfiguration config = new YamlConfiguration();
+        try {
+            config.load(file);
+        } catch (IOException | InvalidConfigurationException e) {
+            throw new InvalidMenuException("Could not read the menu file " + file.getName() + ".", e);
+        }
+        List<String> lines = config.getStringList("pattern");
+        int rows = config.getInt("rows", Math.max(lines.size(), 1));
+        GUIPattern pattern = GUIPattern.ofPattern(lines.toArray(new String[0]));
+        ConfigurationSection items = config.getConfigurationSection("items");
+        if (items != null) {
+            for (String key : items.getKeys(false)) {
+                if (key.length() != 1) {
+                    throw new InvalidMenuException("The item key " + key + " in " + file.getName()
+                            + " must be a single character.");
+                }
+                ConfigurationSection section = items.getConfigurationSection(key);
+                if (section == null) {
+                    throw new InvalidMenuException("The item " + key + " in " + file.getName() + " is not a section.");
+                }
+                ItemStack item = compileItem(file, key, section);
+                String actionName = section.getString("action");
+                if (actionName == null) {
+                    pattern.withMaterial(key.charAt(0), item);
+                } else {
+                    pattern.withMaterial(key.charAt(0), item, requireAction(file, actionName));
+                }
+            }
+        }
+        try {
+            return GUITemplate.create(rows, config.getString("title"), gui -> gui.formatPattern(pattern));
+        } catch (ForbiddenRowAmountException e) {
+            throw new InvalidMenuException("The menu file " + file.getName() + " is invalid: " + e.getMessage(), e);
+        }
+    }
+
+    @NotNull
+    private ItemStack compileItem(@NotNull File file, @NotNull String key, @NotNull ConfigurationSection section) {
+        String materialName = section.getString("material");
+        Material material = materialName == null ? null : Material.matchMaterial(materialName);
+        if (material == null) {
+            throw new InvalidMenuException("The item " + key + " in " + file.getName()
+                    + " has an unknown material: " + materialName);
+        }
+        ItemBuilder builder = ItemBuilder.of(material).amount(section.getInt("amount", 1));
+        String name = section.getString("name");
+        if (name != null) {
+            builder.name(name);
+        }
+        List<String> lore = section.getStringList("lore");
+        if (!lore.isEmpty()) {
+            builder.description(lore.toArray(new String[0]));
+        }
+        if (section.getBoolean("glowing", false)) {
+            builder.glowing();
+        }
+        return builder.asItem();
+    }
+
+    @NotNull
+    private Consumer<InventoryClickEvent> requireAction(@NotNull File file, @NotNull String name) {
+        Consumer<InventoryClickEvent> action = actions.get(name);
+        if (action == null) {
+            throw new InvalidMenuException("The menu file " + file.getName() + " references the unknown action "
+                    + name + ".");
+        }
+        return action;
+    }
+
+    @Nullable
+    private File findFile(@NotNull String name) {
+        for (String extension : new String[]{".yml", ".yaml", ".json"}) {
+            File file = new File(directory, name + extension);
+            if (file.isFile()) {
+                return file;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static String menuName(@NotNull File file) {
+        String fileName = file.getName();
+        for (String extension : new String[]{".yml", ".yaml", ".json"}) {
+            if (file.isFile() && fileName.endsWith(extension)) {
+                return fileName.substring(0, fileName.length() - extension.length());
+            }
+        }
+        return null;
+    }
+
+    private record LoadedMenu(File file, long lastModified, GUITemplate template) {
+    }
+}
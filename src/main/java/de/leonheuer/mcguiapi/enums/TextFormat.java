@@ -0,0 +1,9 @@
+package de.leonheuer.mcguiapi.enums;
+
+public enum TextFormat {
+
+    LEGACY,
+    MINI_MESSAGE,
+    PLAIN
+
+}
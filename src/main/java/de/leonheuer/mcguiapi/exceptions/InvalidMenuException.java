@@ -0,0 +1,13 @@
+package de.leonheuer.mcguiapi.exceptions;
+
+public class InvalidMenuException extends RuntimeException {
+
+    public InvalidMenuException(String message) {
+        super(message);
+    }
+
+    public InvalidMenuException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+}
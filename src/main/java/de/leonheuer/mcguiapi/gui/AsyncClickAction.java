@@ -0,0 +1,29 @@
+package de.leonheuer.mcguiapi.gui;
+
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * Click action whose handler runs on the executor of the listener instead of the main thread.
+ * It is stored in the same slot table as synchronous click actions and recognized by the listener.
+ */
+class AsyncClickAction implements Consumer<InventoryClickEvent> {
+
+    private final Consumer<ClickContext> handler;
+
+    AsyncClickAction(@NotNull Consumer<ClickContext> handler) {
+        this.handler = handler;
+    }
+
+    @NotNull
+    Consumer<ClickContext> getHandler() {
+        return handler;
+    }
+
+    @Override
+    public void accept(InventoryClickEvent event) {
+        // handled by the listener, see AsyncClickExecutor
+    }
+}
@@ -0,0 +1,82 @@
+package de.leonheuer.mcguiapi.gui;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * Runs asynchronous click actions of a plugin. Actions of the same player run one after another
+ * in the order of the clicks, actions of different players can run in parallel.
+ */
+class AsyncClickExecutor {
+
+    private final JavaPlugin plugin;
+    private final Map<UUID, CompletableFuture<Void>> tails = new ConcurrentHashMap<>();
+    private Executor executor = null;
+    private ExecutorService defaultExecutor = null;
+
+    AsyncClickExecutor(@NotNull JavaPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    void setExecutor(@NotNull Executor executor) {
+        this.executor = executor;
+    }
+
+    // snapshots the click on the main thread and queues the action behind earlier actions of the player
+    void submit(@NotNull GUI gui, @NotNull AsyncClickAction action, @NotNull InventoryClickEvent event) {
+        event.setCancelled(true);
+        Player player = (Player) event.getWhoClicked();
+        ItemStack item = event.getCurrentItem();
+        ClickContext context = new ClickContext(gui, player.getUniqueId(), event.getSlot(), event.getClick(),
+                item == null ? null : item.clone());
+        Runnable task = () -> {
+            try {
+                action.getHandler().accept(context);
+            } catch (Throwable throwable) {
+                plugin.getLogger().log(Level.WARNING, "Asynchronous click action failed", throwable);
+            }
+        };
+        Executor target = getExecutor();
+        UUID uuid = player.getUniqueId();
+        CompletableFuture<Void> future = tails.compute(uuid, (key, tail) -> tail == null
+                ? CompletableFuture.runAsync(task, target)
+                : tail.thenRunAsync(task, target));
+        future.whenComplete((result, throwable) -> tails.remove(uuid, future));
+    }
+
+    void shutdown() {
+        if (defaultExecutor != null) {
+            defaultExecutor.shutdown();
+            defaultExecutor = null;
+        }
+    }
+
+    @NotNull
+    private Executor getExecutor() {
+        if (executor != null) {
+            return executor;
+        }
+        if (defaultExecutor == null) {
+            AtomicInteger threads = new AtomicInteger();
+            defaultExecutor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "GUI click worker #" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return defaultExecutor;
+    }
+}
@@ -0,0 +1,108 @@
+package de.leonheuer.mcguiapi.gui;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.ClickType;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Snapshot of a click that is handled by an asynchronous click action.
+ * It is taken on the main thread when the click happens, so it can be read safely from any thread.
+ * Changes to the GUI or the player have to be made on the main thread using {@link #sync(Consumer)}.
+ */
+@SuppressWarnings("unused")
+public class ClickContext {
+
+    private final GUI gui;
+    private final UUID playerId;
+    private final int slot;
+    private final ClickType click;
+    private final ItemStack item;
+
+    // created by the listener when an asynchronous click action is triggered
+    ClickContext(@NotNull GUI gui, @NotNull UUID playerId, int slot, @NotNull ClickType click,
+                 @Nullable ItemStack item) {
+        this.gui = gui;
+        this.playerId = playerId;
+        this.slot = slot;
+        this.click = click;
+        this.item = item;
+    }
+
+    /**
+     * Gets the GUI that has been clicked. It must only be changed on the main thread.
+     * @return The GUI
+     */
+    @NotNull
+    public GUI getGUI() {
+        return gui;
+    }
+
+    /**
+     * Gets the UUID of the player who clicked.
+     * @return The UUID of the player
+     */
+    @NotNull
+    public UUID getPlayerId() {
+        return playerId;
+    }
+
+    /**
+     * Gets the index of the clicked slot.
+     * @return The index of the slot
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Gets the type of the click.
+     * @return The click type
+     */
+    @NotNull
+    public ClickType getClick() {
+        return click;
+    }
+
+    /**
+     * Gets a copy of the clicked item as it was when the click happened.
+     * @return The clicked item
+     */
+    @Nullable
+    public ItemStack getItem() {
+        return item == null ? null : item.clone();
+    }
+
+    /**
+     * Runs the specified action on the main thread. The action is skipped if the GUI has been disposed meanwhile.
+     * It is queued with {@link GUI#queue(Consumer)}, so it is applied together with other changes to the GUI.
+     * @param action Action receiving the GUI
+     * @return Future that completes after the action has run or has been skipped
+     */
+    @NotNull
+    public CompletableFuture<Void> sync(@NotNull Consumer<GUI> action) {
+        return gui.queue(action);
+    }
+
+    /**
+     * Runs the specified action on the main thread if the player who clicked is still online.
+     * @param action Action receiving the player and the GUI
+     * @return Future that completes after the action has run or has been skipped
+     */
+    @NotNull
+    public CompletableFuture<Void> syncWithPlayer(@NotNull BiConsumer<Player, GUI> action) {
+        return sync(current -> {
+            Player player = Bukkit.getPlayer(playerId);
+            if (player != null) {
+                action.accept(player, current);
+            }
+        });
+    }
+}
@@ -0,0 +1,52 @@
+package de.leonheuer.mcguiapi.gui;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-player click rate limit using a fixed time window.
+ * Each player gets one small state array on the first click, later clicks do not allocate.
+ */
+class ClickThrottle {
+
+    private final Map<UUID, long[]> windows = new HashMap<>(); // [window start, clicks in window]
+    private int maxClicks = 0;
+    private long windowNanos = 0;
+
+    void setLimit(int maxClicks, long windowNanos) {
+        this.maxClicks = maxClicks;
+        this.windowNanos = windowNanos;
+        windows.clear();
+    }
+
+    // returns whether the click is allowed and counts it if it is
+    boolean tryAcquire(@NotNull UUID uuid, long now) {
+        if (maxClicks <= 0) {
+            return true;
+        }
+        long[] window = windows.get(uuid);
+        if (window == null) {
+            window = new long[]{now, 0};
+            windows.put(uuid, window);
+        } else if (now - window[0] >= windowNanos) {
+            window[0] = now;
+            window[1] = 0;
+        }
+        if (window[1] >= maxClicks) {
+            return false;
+        }
+        window[1]++;
+        return true;
+    }
+
+    void remove(@NotNull UUID uuid) {
+        windows.remove(uuid);
+    }
+
+    int size() {
+        return windows.size();
+    }
+}
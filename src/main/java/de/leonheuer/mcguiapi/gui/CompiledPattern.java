@@ -0,0 +1,62 @@
+package de.leonheuer.mcguiapi.gui;
+
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Consumer;
+
+/**
+ * A GUIPattern resolved for a GUI of a specific size. It contains a table of the slots the pattern fills,
+ * so applying it to a GUI does not have to parse the pattern lines again.
+ * Use {@link GUIPattern#compile(int)} to create a compiled pattern.
+ */
+public final class CompiledPattern {
+
+    private final int size;
+    private final int[] slots;
+    private final ItemStack[] items;
+    private final Consumer<InventoryClickEvent>[] actions;
+    private final long mask; // bit n is set if the pattern fills slot n
+
+    // use GUIPattern#compile to create a compiled pattern
+    CompiledPattern(int size, int[] slots, ItemStack[] items, Consumer<InventoryClickEvent>[] actions) {
+        this.size = size;
+        this.slots = slots;
+        this.items = items;
+        this.actions = actions;
+        long slotMask = 0L;
+        for (int slot : slots) {
+            slotMask |= 1L << slot;
+        }
+        this.mask = slotMask;
+    }
+
+    /**
+     * Gets the amount of slots of the GUIs this pattern has been compiled for.
+     * @return The amount of slots
+     */
+    public int getSize() {
+        return size;
+    }
+
+    // for internal use only
+    int[] getSlots() {
+        return slots;
+    }
+
+    // for internal use only
+    ItemStack[] getItems() {
+        return items;
+    }
+
+    // for internal use only
+    Consumer<InventoryClickEvent>[] getActions() {
+        return actions;
+    }
+
+    // for internal use only
+    long getMask() {
+        return mask;
+    }
+}
@@ -0,0 +1,72 @@
+package de.leonheuer.mcguiapi.gui;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Indexed source of entries that are displayed by a GUI. Entries are only requested when they become visible,
+ * so a data source can be backed by a database or a very large collection.
+ * @param <T> The type of the entries
+ */
+public interface DataSource<T> {
+
+    /**
+     * Gets the total amount of entries.
+     * @return The amount of entries
+     */
+    int size();
+
+    /**
+     * Gets the entry at the specified index.
+     * @param index The index of the entry, between 0 and {@link #size()} - 1
+     * @return The entry
+     */
+    @NotNull
+    T get(int index);
+
+    /**
+     * Gets the entries in the specified range. Data sources that can fetch several entries at once more efficiently
+     * should override this method.
+     * @param from The index of the first entry, inclusive
+     * @param to The index of the last entry, exclusive
+     * @return The entries in the range
+     */
+    @NotNull
+    default List<T> getRange(int from, int to) {
+        int end = Math.min(to, size());
+        List<T> entries = new ArrayList<>(Math.max(end - from, 0));
+        for (int i = from; i < end; i++) {
+            entries.add(get(i));
+        }
+        return entries;
+    }
+
+    /**
+     * Creates a data source that is backed by the specified list.
+     * @param list The list of entries
+     * @param <T> The type of the entries
+     * @return The data source
+     */
+    @NotNull
+    static <T> DataSource<T> of(@NotNull List<T> list) {
+        return new DataSource<>() {
+            @Override
+            public int size() {
+                return list.size();
+            }
+
+            @Override
+            public @NotNull T get(int index) {
+                return list.get(index);
+            }
+
+            @Override
+            public @NotNull List<T> getRange(int from, int to) {
+                return list.subList(Math.min(from, list.size()), Math.min(to, list.size()));
+            }
+        };
+    }
+
+}
@@ -3,6 +3,7 @@ package de.leonheuer.mcguiapi.gui;
 import de.leonheuer.mcguiapi.enums.CloseCause;
 import de.leonheuer.mcguiapi.exceptions.ForbiddenRowAmountException;
 import de.leonheuer.mcguiapi.utils.GUIUtils;
+import de.leonheuer.mcguiapi.utils.TextCache;
 import net.kyori.adventure.text.Component;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -14,43 +15,108 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.logging.Level;
 
 /**
  * GUI class that contains items with different click actions.
  * Each item can have another click action, and close actions can be defined.
  * The GUI can also be formatted with a GUIPattern.
  * It can be shown to any player and handles every annoying part about creating GUIs in minecraft.
+ * <p>
+ * A GUI must only be changed on the main thread. Other threads queue their changes with {@link #queue(Consumer)};
+ * queued changes of a GUI are applied together on the main thread once per tick. Other threads can read the
+ * contents through {@link #getSnapshot()}, and the viewers of a GUI can be read from any thread.
  */
 @SuppressWarnings("unused")
 public class GUI {
 
     private final Inventory inv;
-    private final HashMap<Integer, Consumer<InventoryClickEvent>> clickActions = new HashMap<>();
+    private final Component title;
+    private final InventoryPool pool; // the pool the inventory is returned to on disposal, if any
+    private Consumer<InventoryClickEvent>[] clickActions;
+    private boolean sharedClickActions = false; // the action table belongs to a template until it is written to
     private final EnumMap<CloseCause, BiConsumer<Event, Player>> closeActions = new EnumMap<>(CloseCause.class);
-    private final List<Player> viewers = new ArrayList<>();
-    private final List<Integer> unStealableSlots = new ArrayList<>();
+    private final Set<UUID> viewers = ConcurrentHashMap.newKeySet();
+    private long unStealableSlots = 0L; // bit n is set if slot n is not stealable
     private Consumer<InventoryClickEvent> defaultClickAction = null;
     private Consumer<Event> defaultCloseAction = null;
+    private volatile GUIListener listener = null;
+    private boolean autoDispose = false;
+    private volatile boolean disposed = false;
+    private int retainCount = 0; // amount of navigation histories the GUI is cached in
+    private final Map<Integer, PendingItem> pendingItems = new ConcurrentHashMap<>();
+    private long writeCount = 0; // amount of writes to the inventory, used to order loaded items after other writes
+    private long[] lastWrites = null; // write count of the last write to each slot, created on the first async load
+    private final Queue<Mutation> mutations = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+    private volatile boolean snapshotsRequested = false;
+    private CompletableFuture<Void> firstSnapshot = null; // completes once the first requested snapshot is taken
+    private volatile GUISnapshot snapshot;
+    private boolean snapshotStale = true; // whether the contents changed since the last snapshot
+    private SlotAnimation[] animations = null;
+    private long clickCooldown = 0; // in nanoseconds
+    private long[] slotCooldowns = null; // in nanoseconds
+    private final Map<UUID, ClickTimes> clickTimes = new HashMap<>(); // last clicks of each viewer
+    private long droppedClicks = 0;
+    private String name = getClass().getSimpleName();
+    private int animationCount = 0;
 
     // use GUIFactory to create a new GUI
     protected GUI(int rows) throws ForbiddenRowAmountException {
-        if (rows < 1 || rows > 6) {
-            throw new ForbiddenRowAmountException("Only 1 to 6 rows are allowed, but " + rows + " rows were given.");
-        }
-        inv = Bukkit.createInventory(null, rows * 9);
+        this(rows, null, null);
     }
 
     // use GUIFactory to create a new GUI
     protected GUI(int rows, @NotNull String title) throws ForbiddenRowAmountException {
+        this(rows, title, null);
+    }
+
+    // use GUIFactory to create a new GUI
+    GUI(int rows, @Nullable String title, @Nullable InventoryPool pool) throws ForbiddenRowAmountException {
         if (rows < 1 || rows > 6) {
             throw new ForbiddenRowAmountException("Only 1 to 6 rows are allowed, but " + rows + " rows were given.");
         }
-        inv = Bukkit.createInventory(null, rows * 9, Component.text(title));
+        this.title = title == null ? null : TextCache.parse(title);
+        this.pool = pool;
+        inv = pool == null ? createInventory(rows * 9, this.title) : pool.acquire(rows * 9, this.title);
+        clickActions = newActionTable(rows * 9);
+        snapshot = new GUISnapshot(new ItemStack[rows * 9]);
+    }
+
+    // use GUIFactory to create a new GUI
+    protected GUI(@NotNull GUITemplate template) {
+        this(template, null);
+    }
+
+    // use GUIFactory to create a new GUI
+    GUI(@NotNull GUITemplate template, @Nullable InventoryPool pool) {
+        title = template.getTitle();
+        this.pool = pool;
+        inv = pool == null ? createInventory(template.getSize(), title) : pool.acquire(template.getSize(), title);
+        inv.setContents(template.getContents());
+        snapshot = new GUISnapshot(template.getContents()); // the template never changes its items
+        clickActions = template.getClickActions();
+        sharedClickActions = true;
+        unStealableSlots = template.getUnStealableSlots();
+        closeActions.putAll(template.getCloseActions());
+        defaultClickAction = template.getDefaultClickAction();
+        defaultCloseAction = template.getDefaultCloseAction();
     }
 
     /**
@@ -65,10 +131,10 @@ public class GUI {
     public GUI setItem(int index, @NotNull ItemStack itemStack, boolean stealable,
                        @NotNull Consumer<InventoryClickEvent> action
     ) {
-        inv.setItem(index, itemStack);
-        clickActions.put(index, action);
-        if (!stealable && !unStealableSlots.contains(index)) {
-            unStealableSlots.add(index);
+        writeItem(index, itemStack);
+        ownClickActions()[index] = action;
+        if (!stealable) {
+            unStealableSlots |= 1L << index;
         }
         return this;
     }
@@ -124,9 +190,9 @@ public class GUI {
      */
     @NotNull
     public GUI setItem(int index, @NotNull ItemStack itemStack, boolean stealable) {
-        inv.setItem(index, itemStack);
-        if (!stealable && !unStealableSlots.contains(index)) {
-            unStealableSlots.add(index);
+        writeItem(index, itemStack);
+        if (!stealable) {
+            unStealableSlots |= 1L << index;
         }
         return this;
     }
@@ -167,6 +233,177 @@ public class GUI {
         return setItem(GUIUtils.calculateIndex(row, column), itemStack);
     }
 
+    /**
+     * Sets several items at once. The items are written to the inventory in one pass and are not stealable.
+     * @param items Items to be set, mapped by the index of their GUI slot
+     * @return The current GUI instance
+     * @throws IllegalArgumentException if an index is not a slot of the GUI
+     */
+    @NotNull
+    public GUI setItems(@NotNull Map<Integer, ItemStack> items) {
+        for (int index : items.keySet()) {
+            checkIndex(index);
+        }
+        ItemStack[] contents = inv.getContents();
+        long slots = 0L;
+        for (Map.Entry<Integer, ItemStack> entry : items.entrySet()) {
+            contents[entry.getKey()] = entry.getValue();
+            slots |= 1L << entry.getKey();
+        }
+        writeContents(contents, slots);
+        unStealableSlots |= slots;
+        return this;
+    }
+
+    /**
+     * Sets several items at once. The items are written to the inventory in one pass and are not stealable.
+     * @param items Items to be set by the index of their GUI slot, null elements leave the slot unchanged
+     * @return The current GUI instance
+     */
+    @NotNull
+    public GUI setItems(@NotNull ItemStack[] items) {
+        ItemStack[] contents = inv.getContents();
+        long slots = 0L;
+        for (int i = 0; i < Math.min(items.length, contents.length); i++) {
+            if (items[i] != null) {
+                contents[i] = items[i];
+                slots |= 1L << i;
+            }
+        }
+        writeContents(contents, slots);
+        unStealableSlots |= slots;
+        return this;
+    }
+
+    /**
+     * Sets the item in every slot of the GUI. The item is not stealable.
+     * @param itemStack Item to be set
+     * @return The current GUI instance
+     */
+    @NotNull
+    public GUI fill(@NotNull ItemStack itemStack) {
+        return fillSlots(-1L, itemStack, null);
+    }
+
+    /**
+     * Sets the item in every slot of the GUI and registers an action to be executed when one of them is clicked.
+     * The item is not stealable.
+     * @param itemStack Item to be set
+     * @param action Action to be executed when the item is clicked
+     * @return The current GUI instance
+     */
+    @NotNull
+    public GUI fill(@NotNull ItemStack itemStack, @NotNull Consumer<InventoryClickEvent> action) {
+        return fillSlots(-1L, itemStack, action);
+    }
+
+    /**
+     * Sets the item in every slot of the specified row. The item is not stealable.
+     * @param row Row of the GUI
+     * @param itemStack Item to be set
+     * @return The current GUI instance
+     * @throws IllegalArgumentException if the row is not a row of the GUI
+     */
+    @NotNull
+    public GUI fillRow(int row, @NotNull ItemStack itemStack) {
+        return fillSlots(checkedRectMask(row, 1, row, 9), itemStack, null);
+    }
+
+    /**
+     * Sets the item in every slot of the specified row and registers an action to be executed when one of them
+     * is clicked. The item is not stealable.
+     * @param row Row of the GUI
+     * @param itemStack Item to be set
+     * @param action Action to be executed when the item is clicked
+     * @return The current GUI instance
+     * @throws IllegalArgumentException if the row is not a row of the GUI
+     */
+    @NotNull
+    public GUI fillRow(int row, @NotNull ItemStack itemStack, @NotNull Consumer<InventoryClickEvent> action) {
+        return fillSlots(checkedRectMask(row, 1, row, 9), itemStack, action);
+    }
+
+    /**
+     * Sets the item in every slot of the specified column. The item is not stealable.
+     * @param column Column of the GUI
+     * @param itemStack Item to be set
+     * @return The current GUI instance
+     * @throws IllegalArgumentException if the column is not between 1 and 9
+     */
+    @NotNull
+    public GUI fillColumn(int column, @NotNull ItemStack itemStack) {
+        return fillSlots(checkedRectMask(1, column, inv.getSize() / 9, column), itemStack, null);
+    }
+
+    /**
+     * Sets the item in every slot of the specified column and registers an action to be executed when one of them
+     * is clicked. The item is not stealable.
+     * @param column Column of the GUI
+     * @param itemStack Item to be set
+     * @param action Action to be executed when the item is clicked
+     * @return The current GUI instance
+     * @throws IllegalArgumentException if the column is not between 1 and 9
+     */
+    @NotNull
+    public GUI fillColumn(int column, @NotNull ItemStack itemStack, @NotNull Consumer<InventoryClickEvent> action) {
+        return fillSlots(checkedRectMask(1, column, inv.getSize() / 9, column), itemStack, action);
+    }
+
+    /**
+     * Sets the item in every slot of the outer border of the GUI. The item is not stealable.
+     * @param itemStack Item to be set
+     * @return The current GUI instance
+     */
+    @NotNull
+    public GUI fillBorder(@NotNull ItemStack itemStack) {
+        return fillSlots(borderMask(), itemStack, null);
+    }
+
+    /**
+     * Sets the item in every slot of the outer border of the GUI and registers an action to be executed when one
+     * of them is clicked. The item is not stealable.
+     * @param itemStack Item to be set
+     * @param action Action to be executed when the item is clicked
+     * @return The current GUI instance
+     */
+    @NotNull
+    public GUI fillBorder(@NotNull ItemStack itemStack, @NotNull Consumer<InventoryClickEvent> action) {
+        return fillSlots(borderMask(), itemStack, action);
+    }
+
+    /**
+     * Sets the item in every slot of the specified rectangle. The item is not stealable.
+     * @param fromRow Row of the upper left slot of the rectangle
+     * @param fromColumn Column of the upper left slot of the rectangle
+     * @param toRow Row of the lower right slot of the rectangle, inclusive
+     * @param toColumn Column of the lower right slot of the rectangle, inclusive
+     * @param itemStack Item to be set
+     * @return The current GUI instance
+     * @throws IllegalArgumentException if the rectangle is empty or exceeds the GUI
+     */
+    @NotNull
+    public GUI fillRect(int fromRow, int fromColumn, int toRow, int toColumn, @NotNull ItemStack itemStack) {
+        return fillSlots(checkedRectMask(fromRow, fromColumn, toRow, toColumn), itemStack, null);
+    }
+
+    /**
+     * Sets the item in every slot of the specified rectangle and registers an action to be executed when one
+     * of them is clicked. The item is not stealable.
+     * @param fromRow Row of the upper left slot of the rectangle
+     * @param fromColumn Column of the upper left slot of the rectangle
+     * @param toRow Row of the lower right slot of the rectangle, inclusive
+     * @param toColumn Column of the lower right slot of the rectangle, inclusive
+     * @param itemStack Item to be set
+     * @param action Action to be executed when the item is clicked
+     * @return The current GUI instance
+     * @throws IllegalArgumentException if the rectangle is empty or exceeds the GUI
+     */
+    @NotNull
+    public GUI fillRect(int fromRow, int fromColumn, int toRow, int toColumn, @NotNull ItemStack itemStack,
+                        @NotNull Consumer<InventoryClickEvent> action) {
+        return fillSlots(checkedRectMask(fromRow, fromColumn, toRow, toColumn), itemStack, action);
+    }
+
     /**
      * Removes the item at the specified slot from the inventory. This will also remove the click action of the slot.
      * @param index Index of the GUI slot
@@ -174,9 +411,10 @@ public class GUI {
      */
     @NotNull
     public GUI removeItem(int index) {
-        inv.setItem(index, null);
-        clickActions.remove(index);
-        unStealableSlots.remove(index);
+        stopAnimation(index);
+        writeItem(index, null);
+        ownClickActions()[index] = null;
+        unStealableSlots &= ~(1L << index);
         return this;
     }
 
@@ -199,11 +437,9 @@ public class GUI {
      */
     public GUI setStealable(int index, boolean stealable) {
         if (stealable) {
-            unStealableSlots.remove(index);
-            return this;
-        }
-        if (!unStealableSlots.contains(index)) {
-            unStealableSlots.add(index);
+            unStealableSlots &= ~(1L << index);
+        } else {
+            unStealableSlots |= 1L << index;
         }
         return this;
     }
@@ -226,7 +462,7 @@ public class GUI {
      * @return The current GUI instance
      */
     public GUI setClickAction(int index, @NotNull Consumer<InventoryClickEvent> action) {
-        clickActions.put(index, action);
+        ownClickActions()[index] = action;
         return this;
     }
 
@@ -241,6 +477,35 @@ public class GUI {
         return setClickAction(GUIUtils.calculateIndex(row, column), action);
     }
 
+    /**
+     * Sets an action to perform off the main thread when clicking the specified slot.
+     * The click is cancelled and a snapshot of it is taken on the main thread. The action then runs on the
+     * executor configured with {@link GUIFactory#setAsyncExecutor(java.util.concurrent.Executor)}.
+     * Actions of the same player run in the order of the clicks. Use {@link ClickContext#sync(Consumer)}
+     * to change the GUI from within the action.
+     * @param index Index of the GUI slot
+     * @param action Action to perform
+     * @return The current GUI instance
+     */
+    public GUI setAsyncClickAction(int index, @NotNull Consumer<ClickContext> action) {
+        return setClickAction(index, new AsyncClickAction(action));
+    }
+
+    /**
+     * Sets an action to perform off the main thread when clicking the specified slot.
+     * The click is cancelled and a snapshot of it is taken on the main thread. The action then runs on the
+     * executor configured with {@link GUIFactory#setAsyncExecutor(java.util.concurrent.Executor)}.
+     * Actions of the same player run in the order of the clicks. Use {@link ClickContext#sync(Consumer)}
+     * to change the GUI from within the action.
+     * @param row Row of the GUI slot
+     * @param column Column of the GUI slot
+     * @param action Action to perform
+     * @return The current GUI instance
+     */
+    public GUI setAsyncClickAction(int row, int column, @NotNull Consumer<ClickContext> action) {
+        return setAsyncClickAction(GUIUtils.calculateIndex(row, column), action);
+    }
+
     /**
      * Sets an action that will always be performed when something in the GUI is clicked.
      * @param defaultClickAction Action to perform
@@ -257,7 +522,7 @@ public class GUI {
      * @return The current GUI instance
      */
     public GUI removeClickAction(int index) {
-        clickActions.remove(index);
+        ownClickActions()[index] = null;
         return this;
     }
 
@@ -271,6 +536,57 @@ public class GUI {
         return removeClickAction(GUIUtils.calculateIndex(row, column));
     }
 
+    /**
+     * Sets the minimum time between two clicks of a player in this GUI. Clicks arriving earlier are cancelled
+     * before any click action runs. Every player has an own cooldown.
+     * @param cooldown The minimum time between two clicks, or 0 to disable the cooldown
+     * @param unit The unit of the cooldown
+     * @return The current GUI instance
+     */
+    public GUI setClickCooldown(long cooldown, @NotNull TimeUnit unit) {
+        clickCooldown = unit.toNanos(cooldown);
+        return this;
+    }
+
+    /**
+     * Sets the minimum time between two clicks of a player on the specified slot. Clicks arriving earlier are
+     * cancelled before any click action runs. This is useful for slots whose action triggers purchases or database
+     * writes. Every player has an own cooldown.
+     * @param index Index of the GUI slot
+     * @param cooldown The minimum time between two clicks, or 0 to disable the cooldown
+     * @param unit The unit of the cooldown
+     * @return The current GUI instance
+     */
+    public GUI setSlotCooldown(int index, long cooldown, @NotNull TimeUnit unit) {
+        if (slotCooldowns == null) {
+            slotCooldowns = new long[inv.getSize()];
+        }
+        slotCooldowns[index] = unit.toNanos(cooldown);
+        return this;
+    }
+
+    /**
+     * Sets the minimum time between two clicks of a player on the specified slot. Clicks arriving earlier are
+     * cancelled before any click action runs. This is useful for slots whose action triggers purchases or database
+     * writes. Every player has an own cooldown.
+     * @param row Row of the GUI slot
+     * @param column Column of the GUI slot
+     * @param cooldown The minimum time between two clicks, or 0 to disable the cooldown
+     * @param unit The unit of the cooldown
+     * @return The current GUI instance
+     */
+    public GUI setSlotCooldown(int row, int column, long cooldown, @NotNull TimeUnit unit) {
+        return setSlotCooldown(GUIUtils.calculateIndex(row, column), cooldown, unit);
+    }
+
+    /**
+     * Gets the amount of clicks in this GUI that were cancelled because of a click cooldown.
+     * @return The amount of dropped clicks
+     */
+    public long getDroppedClicks() {
+        return droppedClicks;
+    }
+
     /**
      * Sets an action to perform when the specified cause leads to closing the GUI.
      * @param cause Cause for the GUI to close
@@ -302,30 +618,260 @@ public class GUI {
         return this;
     }
 
+    /**
+     * Changes several items at once. The writes are buffered and compared with the current contents at the end
+     * of the update, and only slots whose item actually changed are written to the inventory.
+     * This is the preferred way to refresh live or animated GUIs.
+     * @param transaction Function that performs the writes
+     * @return The current GUI instance
+     */
+    @NotNull
+    public GUI update(@NotNull Consumer<GUIUpdate> transaction) {
+        GUIUpdate update = new GUIUpdate(inv.getSize());
+        transaction.accept(update);
+        update.apply(this);
+        return this;
+    }
+
+    /**
+     * Queues a change to the GUI. This method can be called from any thread. All changes queued during a tick
+     * are applied together on the main thread at the next tick, in the order they were queued.
+     * Changes that are still queued when the GUI is disposed, or queued afterwards, are skipped.
+     * @param mutation Function that changes the GUI
+     * @return Future that completes after the change has been applied or skipped
+     * @throws IllegalStateException if the GUI has not been created by a GUIFactory
+     */
+    @NotNull
+    public CompletableFuture<Void> queue(@NotNull Consumer<GUI> mutation) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        GUIListener current = listener; // read before the disposed flag, which is set before the listener is removed
+        if (disposed) {
+            future.complete(null);
+            return future;
+        }
+        if (current == null) {
+            throw new IllegalStateException("This operation requires a GUI created by a GUIFactory.");
+        }
+        mutations.add(new Mutation(mutation, future));
+        if (disposed) {
+            skipMutations(); // the GUI has been disposed concurrently, so no drain would run the change anymore
+        } else {
+            scheduleDrain();
+        }
+        return future;
+    }
+
+    /**
+     * Gets the latest snapshot of the contents of the GUI. This method can be called from any thread.
+     * Snapshots are taken on the main thread at the end of each tick in which the contents changed.
+     * They are only taken once this method has been called, so the first call from another thread waits
+     * until the first snapshot has been taken at the next tick. It must not be made while the main thread waits
+     * for the calling thread. Afterwards, the snapshot is at most one tick old. On the main thread, the snapshot
+     * is always current.
+     * @return The latest snapshot
+     */
+    @NotNull
+    public GUISnapshot getSnapshot() {
+        if (Bukkit.isPrimaryThread()) {
+            snapshotsRequested = true;
+            if (snapshotStale) {
+                takeSnapshot();
+            }
+        } else {
+            requestSnapshots().join();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Animates the given slot by cycling through the specified frames.
+     * All animations of a plugin are advanced by one shared task, and they are paused while the GUI has no viewers.
+     * The slot is not stealable while it is animated.
+     * @param index Index of the GUI slot
+     * @param period Amount of ticks each frame is shown
+     * @param frames Items to cycle through
+     * @return The current GUI instance
+     * @throws IllegalStateException if the GUI has not been created by a GUIFactory
+     */
+    @NotNull
+    public GUI animate(int index, int period, @NotNull ItemStack... frames) {
+        requireListener();
+        if (period < 1 || frames.length == 0) {
+            throw new IllegalArgumentException("An animation needs a period of at least 1 tick and at least one frame.");
+        }
+        if (animations == null) {
+            animations = new SlotAnimation[inv.getSize()];
+        }
+        if (animations[index] == null) {
+            animationCount++;
+        }
+        animations[index] = new SlotAnimation(frames.clone(), period);
+        setItem(index, frames[0]);
+        listener.getAnimator().add(this);
+        return this;
+    }
+
+    /**
+     * Animates the given slot by cycling through the specified frames.
+     * All animations of a plugin are advanced by one shared task, and they are paused while the GUI has no viewers.
+     * The slot is not stealable while it is animated.
+     * @param row Row of the GUI slot
+     * @param column Column of the GUI slot
+     * @param period Amount of ticks each frame is shown
+     * @param frames Items to cycle through
+     * @return The current GUI instance
+     * @throws IllegalStateException if the GUI has not been created by a GUIFactory
+     */
+    @NotNull
+    public GUI animate(int row, int column, int period, @NotNull ItemStack... frames) {
+        return animate(GUIUtils.calculateIndex(row, column), period, frames);
+    }
+
+    /**
+     * Stops the animation of the specified slot. The current frame stays in the slot.
+     * @param index Index of the GUI slot
+     * @return The current GUI instance
+     */
+    @NotNull
+    public GUI stopAnimation(int index) {
+        if (animations == null || animations[index] == null) {
+            return this;
+        }
+        animations[index] = null;
+        if (--animationCount == 0 && listener != null) {
+            listener.getAnimator().remove(this);
+        }
+        return this;
+    }
+
+    /**
+     * Stops the animation of the specified slot. The current frame stays in the slot.
+     * @param row Row of the GUI slot
+     * @param column Column of the GUI slot
+     * @return The current GUI instance
+     */
+    @NotNull
+    public GUI stopAnimation(int row, int column) {
+        return stopAnimation(GUIUtils.calculateIndex(row, column));
+    }
+
+    /**
+     * Shows a placeholder at the given slot and replaces it with the item once the future completes.
+     * The item is set on the main thread. Items of all futures completing during the same tick are set in one batch.
+     * If the slot is written again before the item has been set, the item is discarded.
+     * @param index Index of the GUI slot
+     * @param placeholder Item to show until the future completes
+     * @param item Future of the item to be set
+     * @return The current GUI instance
+     * @throws IllegalStateException if the GUI has not been created by a GUIFactory
+     */
+    @NotNull
+    public GUI setItemAsync(int index, @NotNull ItemStack placeholder, @NotNull CompletableFuture<ItemStack> item) {
+        requireListener();
+        setItem(index, placeholder);
+        long requested = trackWrites();
+        item.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                logLoadFailure(throwable);
+                return;
+            }
+            if (result != null) {
+                enqueueItem(index, result, requested);
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Shows a placeholder at the given slot and replaces it with the item once the future completes.
+     * The item is set on the main thread. Items of all futures completing during the same tick are set in one batch.
+     * If the slot is written again before the item has been set, the item is discarded.
+     * @param row Row of the GUI slot
+     * @param column Column of the GUI slot
+     * @param placeholder Item to show until the future completes
+     * @param item Future of the item to be set
+     * @return The current GUI instance
+     * @throws IllegalStateException if the GUI has not been created by a GUIFactory
+     */
+    @NotNull
+    public GUI setItemAsync(int row, int column, @NotNull ItemStack placeholder,
+                            @NotNull CompletableFuture<ItemStack> item) {
+        return setItemAsync(GUIUtils.calculateIndex(row, column), placeholder, item);
+    }
+
+    /**
+     * Sets several items once the future completes. The items are set on the main thread in one batch.
+     * Placeholders can be set with {@link #setItem(int, ItemStack)} beforehand. Items of slots that are written
+     * again before the future completes are discarded. Items of indices that are not a slot of the GUI are skipped
+     * and logged.
+     * @param items Future of the items to be set, mapped by the index of their GUI slot
+     * @return The current GUI instance
+     * @throws IllegalStateException if the GUI has not been created by a GUIFactory
+     */
+    @NotNull
+    public GUI setItemsAsync(@NotNull CompletableFuture<Map<Integer, ItemStack>> items) {
+        requireListener();
+        long requested = trackWrites();
+        int size = inv.getSize();
+        items.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                logLoadFailure(throwable);
+                return;
+            }
+            if (result == null) {
+                return;
+            }
+            result.forEach((index, loaded) -> {
+                // checked here, since an invalid index would abort the drain that also applies queued changes
+                if (index == null || index < 0 || index >= size) {
+                    logLoadFailure(new IllegalArgumentException("Slot " + index
+                            + " does not exist in a GUI with " + size + " slots."));
+                } else if (loaded != null) {
+                    enqueueItem(index, loaded, requested);
+                }
+            });
+        });
+        return this;
+    }
+
     /**
      * Formats the gui with the specified pattern.
      * @param pattern The pattern
      * @return The current GUI instance
      */
     public GUI formatPattern(@NotNull GUIPattern pattern) {
-        int index = pattern.getIndex();
-        for (String line : pattern.getLines()) {
-            int pos = 0;
-            for (char c : line.toCharArray()) {
-                if (index > inv.getSize() - 1) {
-                    return this;
-                }
-                if (pos > 8) {
-                    break;
-                }
-                if (pattern.getPatternItems().containsKey(c)) {
-                    setItem(index, pattern.getPatternItems().get(c), false);
+        return formatPattern(pattern.compile(inv.getSize() / 9));
+    }
+
+    /**
+     * Formats the gui with the specified compiled pattern.
+     * @param pattern The compiled pattern
+     * @return The current GUI instance
+     * @throws IllegalArgumentException if the pattern has been compiled for a GUI of another size
+     */
+    public GUI formatPattern(@NotNull CompiledPattern pattern) {
+        if (pattern.getSize() != inv.getSize()) {
+            throw new IllegalArgumentException("The pattern has been compiled for " + pattern.getSize()
+                    + " slots, but the GUI has " + inv.getSize() + " slots.");
+        }
+        int[] slots = pattern.getSlots();
+        ItemStack[] items = pattern.getItems();
+        Consumer<InventoryClickEvent>[] actions = pattern.getActions();
+        ItemStack[] contents = inv.getContents();
+        for (int i = 0; i < slots.length; i++) {
+            contents[slots[i]] = items[i];
+        }
+        writeContents(contents, pattern.getMask());
+        Consumer<InventoryClickEvent>[] clickTable = null;
+        for (int i = 0; i < slots.length; i++) {
+            if (actions[i] != null) {
+                if (clickTable == null) {
+                    clickTable = ownClickActions();
                 }
-                index++;
-                pos++;
+                clickTable[slots[i]] = actions[i];
             }
-            index = index + 9 - pos; // skip missing pattern characters for the line
         }
+        unStealableSlots |= pattern.getMask();
         return this;
     }
 
@@ -334,20 +880,127 @@ public class GUI {
      * @return The current GUI instance
      */
     public GUI reset() {
-        inv.clear();
-        clickActions.clear();
+        stopAnimations();
+        writeContents(new ItemStack[inv.getSize()], -1L);
+        Arrays.fill(ownClickActions(), null);
         closeActions.clear();
-        unStealableSlots.clear();
+        unStealableSlots = 0L;
         return this;
     }
 
     /**
-     * Shows the GUI to the specified player.
+     * Shows the GUI to the specified player. Nothing happens if the player is already looking at the GUI.
      * @param player The player to show the GUI to
      */
     public void show(@NotNull Player player) {
-        player.openInventory(inv);
-        viewers.add(player);
+        UUID uuid = player.getUniqueId();
+        if (viewers.contains(uuid) && getViewerInventory(uuid).equals(player.getOpenInventory().getTopInventory())) {
+            // reopening would close the inventory first, which disposes the GUI if it is disposed automatically
+            return;
+        }
+        player.openInventory(openFor(player));
+        if (viewers.add(uuid) && listener != null) {
+            listener.openSession(uuid, this);
+        }
+    }
+
+    /**
+     * Sets the name of the GUI. GUIs with the same name are grouped together in metrics,
+     * so GUIs of the same kind, e.g. every shop menu, should share a name. The default name is the class name.
+     * Players who are already looking at the GUI stay counted under the previous name until they close it.
+     * @param name The name
+     * @return The current GUI instance
+     */
+    public GUI setName(@NotNull String name) {
+        this.name = name;
+        return this;
+    }
+
+    /**
+     * Gets the name of the GUI that is used in metrics.
+     * @return The name
+     */
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets whether the GUI should be disposed automatically as soon as the last viewer closes it,
+     * quits or dies.
+     * @param autoDispose Whether the GUI should be disposed automatically
+     * @return The current GUI instance
+     */
+    public GUI setAutoDispose(boolean autoDispose) {
+        this.autoDispose = autoDispose;
+        return this;
+    }
+
+    /**
+     * Gets whether the GUI is disposed automatically as soon as the last viewer leaves it.
+     * @return Whether the GUI is disposed automatically
+     */
+    public boolean isAutoDispose() {
+        return autoDispose;
+    }
+
+    /**
+     * Disposes the GUI. It is unregistered from its listener, remaining viewers get their inventory closed
+     * without triggering close actions, and all actions are released so the GUI can be garbage collected.
+     * A disposed GUI must not be shown or changed again, as its inventory may already be reused by another GUI
+     * if inventory pooling is enabled.
+     */
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        stopAnimations();
+        GUIListener current = listener;
+        List<UUID> remaining = new ArrayList<>(viewers);
+        viewers.clear();
+        clickTimes.clear();
+        if (current != null) {
+            for (UUID uuid : remaining) {
+                current.closeSession(uuid, this, CloseCause.CLOSE);
+            }
+            current.unregister(this);
+        }
+        for (UUID uuid : remaining) {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player != null && getViewerInventory(uuid).equals(player.getOpenInventory().getTopInventory())) {
+                player.closeInventory();
+            }
+        }
+        Arrays.fill(ownClickActions(), null);
+        closeActions.clear();
+        unStealableSlots = 0L;
+        defaultClickAction = null;
+        defaultCloseAction = null;
+        pendingItems.clear();
+        skipMutations();
+        completeFirstSnapshot();
+        if (pool != null) {
+            releaseInventory(current);
+        }
+    }
+
+    // a player closing the inventory is still listed as its viewer until the close event has been handled,
+    // so the inventory is returned to the pool at the next tick
+    private void releaseInventory(@Nullable GUIListener current) {
+        if (current != null && current.getPlugin().isEnabled()) {
+            Bukkit.getScheduler().runTask(current.getPlugin(), () -> pool.release(inv, title));
+        } else {
+            pool.release(inv, title);
+        }
+    }
+
+    /**
+     * Gets whether the GUI has been disposed.
+     * @return Whether the GUI is disposed
+     */
+    public boolean isDisposed() {
+        return disposed;
     }
 
     /**
@@ -356,7 +1009,359 @@ public class GUI {
      */
     @NotNull
     public List<Player> getViewersList() {
-        return viewers.stream().toList();
+        return viewers.stream()
+                .map(Bukkit::getPlayer)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // for internal use only, returns whether the click of the viewer passes the cooldowns and records it if it does
+    boolean tryClick(@NotNull UUID uuid, int slot, long now) {
+        if (clickCooldown == 0 && slotCooldowns == null) {
+            return true;
+        }
+        ClickTimes times = clickTimes.computeIfAbsent(uuid, key -> new ClickTimes());
+        if (clickCooldown > 0 && times.last != 0 && now - times.last < clickCooldown) {
+            droppedClicks++;
+            return false;
+        }
+        if (slotCooldowns != null && slot >= 0 && slot < slotCooldowns.length && slotCooldowns[slot] > 0) {
+            if (times.slots == null) {
+                times.slots = new long[slotCooldowns.length];
+            }
+            if (times.slots[slot] != 0 && now - times.slots[slot] < slotCooldowns[slot]) {
+                droppedClicks++;
+                return false;
+            }
+            times.slots[slot] = now;
+        }
+        times.last = now;
+        return true;
+    }
+
+    // for internal use only, every write to the inventory goes through here
+    void writeItem(int index, @Nullable ItemStack item) {
+        writeCount++;
+        if (lastWrites != null) {
+            lastWrites[index] = writeCount;
+        }
+        inv.setItem(index, item);
+        slotChanged(index, item);
+        markChanged();
+    }
+
+    // for internal use only, writes the whole inventory at once, bit n of the mask is set if slot n has been changed
+    void writeContents(@NotNull ItemStack[] contents, long slots) {
+        writeCount++;
+        if (lastWrites != null) {
+            long remaining = slots & (1L << lastWrites.length) - 1;
+            while (remaining != 0) {
+                lastWrites[Long.numberOfTrailingZeros(remaining)] = writeCount;
+                remaining &= remaining - 1;
+            }
+        }
+        inv.setContents(contents);
+        contentsChanged(slots);
+        markChanged();
+    }
+
+    // writes the item to all slots of the mask in one pass and updates the masks and action table in bulk
+    @NotNull
+    private GUI fillSlots(long slots, @NotNull ItemStack item, @Nullable Consumer<InventoryClickEvent> action) {
+        ItemStack[] contents = inv.getContents();
+        slots &= (1L << contents.length) - 1; // GUIs have at most 54 slots
+        long remaining = slots;
+        while (remaining != 0) {
+            contents[Long.numberOfTrailingZeros(remaining)] = item;
+            remaining &= remaining - 1;
+        }
+        writeContents(contents, slots);
+        if (action != null) {
+            Consumer<InventoryClickEvent>[] actions = ownClickActions();
+            remaining = slots;
+            while (remaining != 0) {
+                actions[Long.numberOfTrailingZeros(remaining)] = action;
+                remaining &= remaining - 1;
+            }
+        }
+        unStealableSlots |= slots;
+        return this;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= inv.getSize()) {
+            throw new IllegalArgumentException("Slot " + index + " does not exist in a GUI with "
+                    + inv.getSize() + " slots.");
+        }
+    }
+
+    // like rectMask, but the rectangle must lie within the GUI
+    private long checkedRectMask(int fromRow, int fromColumn, int toRow, int toColumn) {
+        int rows = inv.getSize() / 9;
+        if (fromRow < 1 || toRow > rows || fromRow > toRow || fromColumn < 1 || toColumn > 9
+                || fromColumn > toColumn) {
+            throw new IllegalArgumentException("Rows " + fromRow + " to " + toRow + " and columns " + fromColumn
+                    + " to " + toColumn + " do not fit into a GUI with " + rows + " rows.");
+        }
+        return rectMask(fromRow, fromColumn, toRow, toColumn);
+    }
+
+    // slots of the rectangle between the given rows and columns, both inclusive and starting at 1
+    private static long rectMask(int fromRow, int fromColumn, int toRow, int toColumn) {
+        long mask = 0L;
+        for (int row = Math.max(fromRow, 1); row <= Math.min(toRow, 6); row++) {
+            for (int column = Math.max(fromColumn, 1); column <= Math.min(toColumn, 9); column++) {
+                mask |= 1L << GUIUtils.calculateIndex(row, column);
+            }
+        }
+        return mask;
+    }
+
+    private long borderMask() {
+        int rows = inv.getSize() / 9;
+        return rectMask(1, 1, 1, 9) | rectMask(rows, 1, rows, 9) | rectMask(1, 1, rows, 1) | rectMask(1, 9, rows, 9);
+    }
+
+    // for internal use only, removes the viewer and returns whether it was viewing the GUI
+    boolean removeViewer(@NotNull UUID uuid) {
+        if (!viewers.remove(uuid)) {
+            return false;
+        }
+        clickTimes.remove(uuid);
+        viewerRemoved(uuid);
+        return true;
+    }
+
+    // for internal use only, called after a single slot of the inventory has been written
+    protected void slotChanged(int index, @Nullable ItemStack item) {
+    }
+
+    // for internal use only, called after the whole inventory has been written, bit n is set if slot n changed
+    protected void contentsChanged(long slots) {
+    }
+
+    // for internal use only, called after a viewer has left the GUI
+    protected void viewerRemoved(@NotNull UUID uuid) {
+    }
+
+    // for internal use only, returns the inventory to open for the player
+    @NotNull
+    protected Inventory openFor(@NotNull Player player) {
+        return inv;
+    }
+
+    // for internal use only, returns the inventory the viewer is looking at
+    @NotNull
+    protected Inventory getViewerInventory(@NotNull UUID uuid) {
+        return inv;
+    }
+
+    // for internal use only, prevents the GUI from being disposed automatically while it is cached
+    void retain() {
+        retainCount++;
+    }
+
+    // for internal use only
+    void release() {
+        retainCount--;
+    }
+
+    // for internal use only
+    boolean isRetained() {
+        return retainCount > 0;
+    }
+
+    // for internal use only
+    void tickAnimations() {
+        update(update -> {
+            for (int i = 0; i < animations.length; i++) {
+                SlotAnimation animation = animations[i];
+                if (animation != null && animation.tick()) {
+                    update.setItem(i, animation.getFrame());
+                }
+            }
+        });
+    }
+
+    private void stopAnimations() {
+        if (animations == null) {
+            return;
+        }
+        Arrays.fill(animations, null);
+        animationCount = 0;
+        if (listener != null) {
+            listener.getAnimator().remove(this);
+        }
+    }
+
+    private void requireListener() {
+        if (listener == null) {
+            throw new IllegalStateException("This operation requires a GUI created by a GUIFactory.");
+        }
+    }
+
+    private void logLoadFailure(@NotNull Throwable throwable) {
+        GUIListener current = listener;
+        if (current != null) {
+            current.getPlugin().getLogger().log(Level.WARNING, "Could not load GUI item asynchronously", throwable);
+        }
+    }
+
+    // starts tracking the writes to each slot and returns the write count loaded items are compared with
+    private long trackWrites() {
+        if (lastWrites == null) {
+            lastWrites = new long[inv.getSize()];
+        }
+        return writeCount;
+    }
+
+    // may be called from any thread, the item of the latest request wins if several loads of the slot complete
+    private void enqueueItem(int index, @NotNull ItemStack item, long requested) {
+        GUIListener current = listener;
+        if (disposed || current == null) {
+            return;
+        }
+        pendingItems.merge(index, new PendingItem(item, requested),
+                (previous, next) -> next.requested() >= previous.requested() ? next : previous);
+        scheduleDrain();
+    }
+
+    // may be called from any thread, runs the drain at the next tick unless it is already scheduled
+    private void scheduleDrain() {
+        GUIListener current = listener;
+        if (current != null && drainScheduled.compareAndSet(false, true)) {
+            Bukkit.getScheduler().runTask(current.getPlugin(), this::drain);
+        }
+    }
+
+    // applies loaded items and queued changes in one batch, then takes a snapshot if the contents changed
+    private void drain() {
+        drainScheduled.set(false);
+        if (!pendingItems.isEmpty() && !disposed) {
+            update(update -> {
+                for (Integer index : pendingItems.keySet()) {
+                    PendingItem pending = pendingItems.remove(index);
+                    // the item is outdated if the slot has been written since it was requested
+                    if (pending != null && lastWrites[index] <= pending.requested()) {
+                        update.setItem(index, pending.item());
+                    }
+                }
+            });
+        }
+        Mutation mutation;
+        while ((mutation = mutations.poll()) != null) {
+            if (disposed) {
+                mutation.future.complete(null);
+                continue;
+            }
+            try {
+                mutation.action.accept(this);
+                mutation.future.complete(null);
+            } catch (Throwable throwable) {
+                mutation.future.completeExceptionally(throwable);
+            }
+        }
+        if (disposed) {
+            pendingItems.clear();
+        } else if (snapshotsRequested && snapshotStale) {
+            takeSnapshot();
+        }
+    }
+
+    // starts taking snapshots from another thread, the returned future completes once the first one has been taken
+    @NotNull
+    private synchronized CompletableFuture<Void> requestSnapshots() {
+        if (firstSnapshot == null) {
+            firstSnapshot = new CompletableFuture<>();
+            // snapshots requested on the main thread are already kept up to date
+            boolean current = snapshotsRequested;
+            snapshotsRequested = true;
+            if (current || disposed || listener == null) {
+                firstSnapshot.complete(null);
+            } else {
+                scheduleDrain();
+            }
+        }
+        return firstSnapshot;
+    }
+
+    // completes the futures of all queued changes without applying them
+    private void skipMutations() {
+        Mutation mutation;
+        while ((mutation = mutations.poll()) != null) {
+            mutation.future.complete(null);
+        }
+    }
+
+    // called on the main thread after the contents of the inventory have been written
+    private void markChanged() {
+        if (snapshotsRequested && !snapshotStale) {
+            snapshotStale = true;
+            scheduleDrain();
+        }
+    }
+
+    private void takeSnapshot() {
+        ItemStack[] contents = inv.getContents();
+        for (int i = 0; i < contents.length; i++) {
+            if (contents[i] != null) {
+                contents[i] = contents[i].clone();
+            }
+        }
+        snapshot = new GUISnapshot(contents);
+        snapshotStale = false;
+        completeFirstSnapshot();
+    }
+
+    private synchronized void completeFirstSnapshot() {
+        if (firstSnapshot != null) {
+            firstSnapshot.complete(null);
+        }
+    }
+
+    private record Mutation(Consumer<GUI> action, CompletableFuture<Void> future) {
+    }
+
+    private record PendingItem(ItemStack item, long requested) {
+    }
+
+    private static final class ClickTimes {
+
+        private long last = 0;
+        private long[] slots = null; // last click on each slot, created when the first slot cooldown applies
+    }
+
+    @NotNull
+    static Inventory createInventory(int size, @Nullable Component title) {
+        if (title == null) {
+            return Bukkit.createInventory(null, size);
+        }
+        return Bukkit.createInventory(null, size, title);
+    }
+
+    @SuppressWarnings("unchecked")
+    static Consumer<InventoryClickEvent>[] newActionTable(int size) {
+        return (Consumer<InventoryClickEvent>[]) new Consumer[size];
+    }
+
+    // copies the action table on the first write if it is shared with a template
+    private Consumer<InventoryClickEvent>[] ownClickActions() {
+        if (sharedClickActions) {
+            clickActions = clickActions.clone();
+            sharedClickActions = false;
+        }
+        return clickActions;
+    }
+
+    // for internal use only
+    void setListener(@Nullable GUIListener listener) {
+        this.listener = listener;
+    }
+
+    // for internal use only
+    @Nullable
+    GUIListener getListener() {
+        return listener;
     }
 
     // for internal use only
@@ -365,23 +1370,51 @@ public class GUI {
     }
 
     // for internal use only
-    protected HashMap<Integer, Consumer<InventoryClickEvent>> getClickActions() {
+    @Nullable
+    protected Component getTitle() {
+        return title;
+    }
+
+    // for internal use only
+    protected Consumer<InventoryClickEvent>[] getClickActions() {
         return clickActions;
     }
 
+    // for internal use only
+    protected long getUnStealableSlots() {
+        return unStealableSlots;
+    }
+
+    // for internal use only
+    void addUnStealableSlots(long slots) {
+        unStealableSlots |= slots;
+    }
+
+    // for internal use only
+    @Nullable
+    protected Consumer<InventoryClickEvent> getClickAction(int slot) {
+        if (slot < 0 || slot >= clickActions.length) {
+            return null;
+        }
+        return clickActions[slot];
+    }
+
     // for internal use only
     protected EnumMap<CloseCause, BiConsumer<Event, Player>> getCloseActions() {
         return closeActions;
     }
 
     // for internal use only
-    protected List<Player> getViewers() {
+    protected Set<UUID> getViewers() {
         return viewers;
     }
 
     // for internal use only
-    protected List<Integer> getUnStealableSlots() {
-        return unStealableSlots;
+    protected boolean isStealable(int slot) {
+        if (slot < 0 || slot >= clickActions.length) {
+            return true;
+        }
+        return (unStealableSlots & 1L << slot) == 0;
     }
 
     // for internal use only
@@ -0,0 +1,49 @@
+package de.leonheuer.mcguiapi.gui;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Advances the slot animations of all GUIs of a plugin in a single task that runs every tick.
+ * The task only runs while at least one GUI has animations. GUIs without viewers are skipped,
+ * so their animations are paused until the GUI is shown again.
+ */
+class GUIAnimator implements Runnable {
+
+    private final JavaPlugin plugin;
+    private final Set<GUI> guis = new LinkedHashSet<>();
+    private BukkitTask task = null;
+
+    GUIAnimator(@NotNull JavaPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    void add(@NotNull GUI gui) {
+        guis.add(gui);
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this, 1L, 1L);
+        }
+    }
+
+    void remove(@NotNull GUI gui) {
+        guis.remove(gui);
+        if (guis.isEmpty() && task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    @Override
+    public void run() {
+        for (GUI gui : guis) {
+            if (!gui.getViewers().isEmpty()) {
+                gui.tickAnimations();
+            }
+        }
+    }
+}
@@ -1,22 +1,34 @@
 package de.leonheuer.mcguiapi.gui;
 
 import de.leonheuer.mcguiapi.exceptions.ForbiddenRowAmountException;
+import de.leonheuer.mcguiapi.metrics.GUIMetrics;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
- * Class that can create new GUIs and register their listeners to a Minecraft Plugin.
- * It is necessary for creating GUIs because every GUI needs their own listener.
+ * Class that can create new GUIs and register them to the listener of a Minecraft Plugin.
+ * It is necessary for creating GUIs because every GUI has to be known to the listener dispatching its events.
  * Since the GUI API is not a standalone plugin that can register listeners to itself, there must be another plugin
- * given to register the listeners to.
+ * given to register the listener to. All factories of the same plugin share one listener.
  */
 @SuppressWarnings("unused")
 public class GUIFactory {
 
     private final JavaPlugin plugin;
+    private final GUIListener listener;
+    private InventoryPool pool = null;
 
     public GUIFactory(@NotNull JavaPlugin plugin) {
         this.plugin = plugin;
+        this.listener = GUIListener.of(plugin);
     }
 
     /**
@@ -27,8 +39,8 @@ public class GUIFactory {
      */
     @NotNull
     public GUI createGUI(int rows) throws ForbiddenRowAmountException {
-        GUI gui = new GUI(rows);
-        plugin.getServer().getPluginManager().registerEvents(new GUIListener(gui), plugin);
+        GUI gui = new GUI(rows, null, pool);
+        listener.register(gui);
         return gui;
     }
 
@@ -41,9 +53,236 @@ public class GUIFactory {
      */
     @NotNull
     public GUI createGUI(int rows, @NotNull String title) throws ForbiddenRowAmountException {
-        GUI gui = new GUI(rows, title);
-        plugin.getServer().getPluginManager().registerEvents(new GUIListener(gui), plugin);
+        GUI gui = new GUI(rows, title, pool);
+        listener.register(gui);
+        return gui;
+    }
+
+    /**
+     * Creates a GUI from the specified template. Only the items are copied, the actions are shared with the template.
+     * @param template The template
+     * @return The instantiated GUI
+     */
+    @NotNull
+    public GUI createGUI(@NotNull GUITemplate template) {
+        GUI gui = new GUI(template, pool);
+        listener.register(gui);
+        return gui;
+    }
+
+    /**
+     * Creates a paginated GUI with the specified amount of rows.
+     * @param rows The amount of rows
+     * @param source The data source of the entries to display
+     * @param renderer Function that creates the item displaying an entry
+     * @param <T> The type of the entries
+     * @return The instantiated GUI
+     * @throws ForbiddenRowAmountException if the amount of rows is not between 1 and 6
+     */
+    @NotNull
+    public <T> PaginatedGUI<T> createPaginatedGUI(int rows, @NotNull DataSource<T> source,
+                                                  @NotNull Function<T, ItemStack> renderer)
+            throws ForbiddenRowAmountException {
+        PaginatedGUI<T> gui = new PaginatedGUI<>(rows, source, renderer);
+        listener.register(gui);
+        return gui;
+    }
+
+    /**
+     * Creates a paginated GUI with the specified amount of rows and title.
+     * @param rows The amount of rows
+     * @param title The title of the GUI
+     * @param source The data source of the entries to display
+     * @param renderer Function that creates the item displaying an entry
+     * @param <T> The type of the entries
+     * @return The instantiated GUI
+     * @throws ForbiddenRowAmountException if the amount of rows is not between 1 and 6
+     */
+    @NotNull
+    public <T> PaginatedGUI<T> createPaginatedGUI(int rows, @NotNull String title, @NotNull DataSource<T> source,
+                                                  @NotNull Function<T, ItemStack> renderer)
+            throws ForbiddenRowAmountException {
+        PaginatedGUI<T> gui = new PaginatedGUI<>(rows, title, source, renderer);
+        listener.register(gui);
+        return gui;
+    }
+
+    /**
+     * Creates a GUI with the specified amount of rows that is meant to be viewed by many players at once.
+     * A write costs the same no matter how many players are watching, unless overlay slots are declared,
+     * in which case every viewer gets an own copy of the inventory and writes are repeated for each viewer.
+     * @param rows The amount of rows
+     * @return The instantiated GUI
+     * @throws ForbiddenRowAmountException if the amount of rows is not between 1 and 6
+     */
+    @NotNull
+    public SharedGUI createSharedGUI(int rows) throws ForbiddenRowAmountException {
+        SharedGUI gui = new SharedGUI(rows);
+        listener.register(gui);
+        return gui;
+    }
+
+    /**
+     * Creates a GUI with the specified amount of rows and title that is meant to be viewed by many players at once.
+     * A write costs the same no matter how many players are watching, unless overlay slots are declared,
+     * in which case every viewer gets an own copy of the inventory and writes are repeated for each viewer.
+     * @param rows The amount of rows
+     * @param title The title of the GUI
+     * @return The instantiated GUI
+     * @throws ForbiddenRowAmountException if the amount of rows is not between 1 and 6
+     */
+    @NotNull
+    public SharedGUI createSharedGUI(int rows, @NotNull String title) throws ForbiddenRowAmountException {
+        SharedGUI gui = new SharedGUI(rows, title);
+        listener.register(gui);
+        return gui;
+    }
+
+    /**
+     * Creates a shared GUI with the specified amount of rows whose dynamic slots are rendered for each viewer.
+     * Every viewer gets an own copy of the inventory, so opening the GUI copies all items and every write
+     * is repeated for each viewer.
+     * @param rows The amount of rows
+     * @return The instantiated GUI
+     * @throws ForbiddenRowAmountException if the amount of rows is not between 1 and 6
+     */
+    @NotNull
+    public PersonalizedGUI createPersonalizedGUI(int rows) throws ForbiddenRowAmountException {
+        PersonalizedGUI gui = new PersonalizedGUI(rows);
+        listener.register(gui);
+        return gui;
+    }
+
+    /**
+     * Creates a shared GUI with the specified amount of rows and title whose dynamic slots are rendered
+     * for each viewer.
+     * Every viewer gets an own copy of the inventory, so opening the GUI copies all items and every write
+     * is repeated for each viewer.
+     * @param rows The amount of rows
+     * @param title The title of the GUI
+     * @return The instantiated GUI
+     * @throws ForbiddenRowAmountException if the amount of rows is not between 1 and 6
+     */
+    @NotNull
+    public PersonalizedGUI createPersonalizedGUI(int rows, @NotNull String title) throws ForbiddenRowAmountException {
+        PersonalizedGUI gui = new PersonalizedGUI(rows, title);
+        listener.register(gui);
         return gui;
     }
 
+    /**
+     * Enables or disables reusing the inventories of disposed GUIs for new GUIs of the same size and title.
+     * This saves creating an inventory for every short-lived GUI, e.g. confirmation dialogs. Only GUIs created
+     * with {@link #createGUI(int)}, {@link #createGUI(int, String)} and {@link #createGUI(GUITemplate)} are pooled,
+     * and their inventory is cleared before it is reused. Disabling pooling discards all pooled inventories.
+     * @param maxSize The maximum amount of inventories kept in the pool, or 0 to disable pooling
+     */
+    public void setInventoryPooling(int maxSize) {
+        pool = maxSize > 0 ? new InventoryPool(maxSize) : null;
+    }
+
+    /**
+     * Gets the share of GUIs created by this factory that reused a pooled inventory since pooling was enabled.
+     * @return The hit rate between 0 and 1, or 0 if pooling is disabled
+     */
+    public double getInventoryPoolHitRate() {
+        return pool == null ? 0 : pool.getHitRate();
+    }
+
+    /**
+     * Gets the amount of inventories that are currently waiting in the pool to be reused.
+     * @return The amount of pooled inventories, or 0 if pooling is disabled
+     */
+    public int getPooledInventoryCount() {
+        return pool == null ? 0 : pool.getPooledCount();
+    }
+
+    /**
+     * Limits how many clicks a player can perform in the GUIs of the plugin within a time window.
+     * Excess clicks are cancelled before any click action runs. The limit is shared by all factories of the plugin.
+     * @param maxClicks The maximum amount of clicks per window, or 0 to disable the limit
+     * @param window The length of the time window
+     * @param unit The unit of the time window
+     */
+    public void setClickRateLimit(int maxClicks, long window, @NotNull TimeUnit unit) {
+        listener.setClickRateLimit(maxClicks, unit.toNanos(window));
+    }
+
+    /**
+     * Sets the executor asynchronous click actions of the plugin run on. By default, a cached pool of daemon threads
+     * is used. On Java 21, {@code Executors.newVirtualThreadPerTaskExecutor()} is a good choice for actions doing I/O.
+     * The executor is shared by all factories of the plugin.
+     * @param executor The executor
+     */
+    public void setAsyncExecutor(@NotNull Executor executor) {
+        listener.setAsyncExecutor(executor);
+    }
+
+    /**
+     * Sets the metrics implementation that records the GUI operations of the plugin.
+     * By default, {@link GUIMetrics#NOOP} is used. The metrics are shared by all factories of the plugin.
+     * GUIs that are alive and GUIs that players are looking at are reported as created and opened
+     * to the new metrics right away, so they can be set at any time.
+     * @param metrics The metrics implementation, e.g. {@link de.leonheuer.mcguiapi.metrics.InMemoryGUIMetrics}
+     */
+    public void setMetrics(@NotNull GUIMetrics metrics) {
+        listener.setMetrics(metrics);
+    }
+
+    /**
+     * Gets the amount of clicks in the GUIs of the plugin that were cancelled by the rate limit or a click cooldown.
+     * @return The amount of dropped clicks
+     */
+    public long getDroppedClickCount() {
+        return listener.getDroppedClicks();
+    }
+
+    /**
+     * Gets the navigation that keeps the history of nested GUIs for each player.
+     * The navigation is shared by all factories of the plugin.
+     * @return The navigation
+     */
+    @NotNull
+    public Navigation getNavigation() {
+        return listener.getNavigation();
+    }
+
+    /**
+     * Gets the GUI of the plugin the specified player is currently looking at.
+     * This method can be called from any thread.
+     * @param player The player
+     * @return The open GUI, or null if the player is not looking at a GUI of the plugin
+     */
+    @Nullable
+    public GUI getOpenGUI(@NotNull Player player) {
+        return listener.getSession(player.getUniqueId());
+    }
+
+    /**
+     * Gets the GUI of the plugin the player with the specified UUID is currently looking at.
+     * This method can be called from any thread.
+     * @param uuid The UUID of the player
+     * @return The open GUI, or null if the player is not looking at a GUI of the plugin
+     */
+    @Nullable
+    public GUI getOpenGUI(@NotNull UUID uuid) {
+        return listener.getSession(uuid);
+    }
+
+    /**
+     * Gets the amount of GUIs of the plugin that have been created and not been disposed yet.
+     * @return The amount of live GUIs
+     */
+    public long getLiveGUICount() {
+        return listener.getLiveCount();
+    }
+
+    /**
+     * Gets the amount of GUIs of the plugin that have been disposed.
+     * @return The amount of disposed GUIs
+     */
+    public long getDisposedGUICount() {
+        return listener.getDisposedCount();
+    }
+
 }
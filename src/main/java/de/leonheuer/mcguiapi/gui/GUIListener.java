@@ -1,27 +1,200 @@
 package de.leonheuer.mcguiapi.gui;
 
 import de.leonheuer.mcguiapi.enums.CloseCause;
+import de.leonheuer.mcguiapi.metrics.GUIMetrics;
 import org.bukkit.Material;
 import org.bukkit.entity.HumanEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.PlayerDeathEvent;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
+/**
+ * Central listener that dispatches inventory and player events to the GUIs of a plugin.
+ * Only one instance is registered per plugin. The GUI an event belongs to is looked up by its inventory,
+ * so the cost of an event does not depend on how many GUIs exist.
+ */
 public class GUIListener implements Listener {
 
-    private final GUI gui;
+    private static final Map<Plugin, GUIListener> LISTENERS = new HashMap<>();
 
-    public GUIListener(GUI gui) {
-        this.gui = gui;
+    private final JavaPlugin plugin;
+    private final Map<Inventory, GUI> guis = new HashMap<>();
+    private final Map<UUID, Session> sessions = new ConcurrentHashMap<>();
+    private final GUIAnimator animator;
+    private final ClickThrottle throttle = new ClickThrottle();
+    private final AsyncClickExecutor asyncClicks;
+    private final Navigation navigation = new Navigation();
+    private long droppedClicks = 0;
+    private GUIMetrics metrics = GUIMetrics.NOOP;
+    private long createdCount = 0;
+    private long disposedCount = 0;
+
+    private GUIListener(@NotNull JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.animator = new GUIAnimator(plugin);
+        this.asyncClicks = new AsyncClickExecutor(plugin);
+    }
+
+    /**
+     * Gets the listener of the specified plugin and registers it if it does not exist yet.
+     * @param plugin The plugin to register the listener to
+     * @return The listener of the plugin
+     */
+    @NotNull
+    static GUIListener of(@NotNull JavaPlugin plugin) {
+        return LISTENERS.computeIfAbsent(plugin, key -> {
+            GUIListener listener = new GUIListener(plugin);
+            plugin.getServer().getPluginManager().registerEvents(listener, plugin);
+            return listener;
+        });
+    }
+
+    // for internal use only
+    void register(@NotNull GUI gui) {
+        guis.put(gui.getInv(), gui);
+        gui.setListener(this);
+        createdCount++;
+        metrics.guiCreated();
+    }
+
+    // for internal use only
+    void unregister(@NotNull GUI gui) {
+        guis.remove(gui.getInv(), gui);
+        gui.setListener(null);
+        disposedCount++;
+        metrics.guiDisposed();
+    }
+
+    // for internal use only, routes events of an additional inventory, e.g. a per-viewer copy, to the GUI
+    void registerInventory(@NotNull Inventory inventory, @NotNull GUI gui) {
+        guis.put(inventory, gui);
+    }
+
+    // for internal use only
+    void unregisterInventory(@NotNull Inventory inventory) {
+        guis.remove(inventory);
+    }
+
+    // for internal use only, called when the player has been added as viewer of the GUI
+    void openSession(@NotNull UUID uuid, @NotNull GUI gui) {
+        Session session = new Session(gui, gui.getName());
+        sessions.put(uuid, session);
+        metrics.guiOpened(session.name());
+    }
+
+    // for internal use only, the close is recorded under the name the GUI had when it was opened
+    void closeSession(@NotNull UUID uuid, @NotNull GUI gui, @NotNull CloseCause cause) {
+        Session session = sessions.get(uuid);
+        if (session != null && session.gui() == gui && sessions.remove(uuid, session)) {
+            metrics.guiClosed(session.name(), cause);
+        }
+    }
+
+    // for internal use only, existing GUIs and sessions are replayed, so gauges of the new metrics do not go negative
+    void setMetrics(@NotNull GUIMetrics metrics) {
+        this.metrics = metrics;
+        for (long i = createdCount - disposedCount; i > 0; i--) {
+            metrics.guiCreated();
+        }
+        for (Session session : sessions.values()) {
+            metrics.guiOpened(session.name());
+        }
+    }
+
+    // for internal use only, may be called from any thread
+    @Nullable
+    GUI getSession(@NotNull UUID uuid) {
+        Session session = sessions.get(uuid);
+        return session == null ? null : session.gui();
+    }
+
+    // for internal use only
+    void setClickRateLimit(int maxClicks, long windowNanos) {
+        throttle.setLimit(maxClicks, windowNanos);
+    }
+
+    // for internal use only
+    void setAsyncExecutor(@NotNull Executor executor) {
+        asyncClicks.setExecutor(executor);
+    }
+
+    // for internal use only
+    long getDroppedClicks() {
+        return droppedClicks;
+    }
+
+    // for internal use only
+    long getLiveCount() {
+        return createdCount - disposedCount;
+    }
+
+    // for internal use only
+    long getDisposedCount() {
+        return disposedCount;
+    }
+
+    // for internal use only
+    int getRegisteredInventoryCount() {
+        return guis.size();
+    }
+
+    // for internal use only
+    int getSessionCount() {
+        return sessions.size();
+    }
+
+    // for internal use only
+    int getThrottledPlayerCount() {
+        return throttle.size();
+    }
+
+    // for internal use only
+    @Nullable
+    GUI getGUI(@Nullable Inventory inventory) {
+        if (inventory == null) {
+            return null;
+        }
+        return guis.get(inventory);
+    }
+
+    // for internal use only
+    @NotNull
+    JavaPlugin getPlugin() {
+        return plugin;
+    }
+
+    // for internal use only
+    @NotNull
+    Navigation getNavigation() {
+        return navigation;
+    }
+
+    // for internal use only
+    @NotNull
+    GUIAnimator getAnimator() {
+        return animator;
     }
 
     @EventHandler
@@ -37,21 +210,32 @@ public class GUIListener implements Listener {
         if (event.getClickedInventory() == event.getWhoClicked().getInventory()) {
             return;
         }
+        GUI gui = getGUI(event.getInventory());
+        if (gui == null || !gui.getViewers().contains(player.getUniqueId())) {
+            return;
+        }
 
         int slot = event.getSlot();
-        if (gui.getViewers().contains(player)) {
-            if (gui.getUnStealableSlots().contains(slot)) {
-                event.setCancelled(true);
-            }
-            Consumer<InventoryClickEvent> defaultAction = gui.getDefaultClickAction();
-            if (defaultAction != null) {
-                defaultAction.accept(event);
-            }
-            Consumer<InventoryClickEvent> action = gui.getClickActions().get(slot);
-            if (action != null) {
-                action.accept(event);
-            }
+        long now = System.nanoTime();
+        if (!throttle.tryAcquire(player.getUniqueId(), now) || !gui.tryClick(player.getUniqueId(), slot, now)) {
+            event.setCancelled(true);
+            droppedClicks++;
+            return;
+        }
+        if (!gui.isStealable(slot)) {
+            event.setCancelled(true);
+        }
+        Consumer<InventoryClickEvent> defaultAction = gui.getDefaultClickAction();
+        if (defaultAction != null) {
+            defaultAction.accept(event);
         }
+        Consumer<InventoryClickEvent> action = gui.getClickAction(slot);
+        if (action instanceof AsyncClickAction asyncAction) {
+            asyncClicks.submit(gui, asyncAction, event);
+        } else if (action != null) {
+            action.accept(event);
+        }
+        metrics.clickHandled(gui.getName(), System.nanoTime() - now);
     }
 
     @EventHandler
@@ -60,36 +244,68 @@ public class GUIListener implements Listener {
         if (!(player instanceof Player)) {
             return;
         }
-        if (!gui.getViewers().contains(player)) {
+        GUI gui = getGUI(event.getInventory());
+        if (gui == null || !gui.removeViewer(player.getUniqueId())) {
             return;
         }
-        gui.getViewers().remove(player);
+        closeSession(player.getUniqueId(), gui, CloseCause.CLOSE);
         BiConsumer<Event, Player> action = gui.getCloseActions().get(CloseCause.CLOSE);
         if (action != null) {
             action.accept(event, (Player) player);
         }
+        disposeIfUnused(gui);
     }
 
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
-        if (!gui.getViewers().contains(event.getPlayer())) {
+        Player player = event.getPlayer();
+        throttle.remove(player.getUniqueId());
+        GUI gui = getSession(player.getUniqueId());
+        if (gui != null && gui.removeViewer(player.getUniqueId())) {
+            closeSession(player.getUniqueId(), gui, CloseCause.QUIT);
+            BiConsumer<Event, Player> action = gui.getCloseActions().get(CloseCause.QUIT);
+            if (action != null) {
+                action.accept(event, player);
+            }
+            disposeIfUnused(gui);
+        }
+        navigation.clear(player.getUniqueId());
+    }
+
+    @EventHandler
+    public void onPlayerDeath(PlayerDeathEvent event) {
+        Player player = event.getEntity();
+        GUI gui = getSession(player.getUniqueId());
+        if (gui == null || !gui.removeViewer(player.getUniqueId())) {
             return;
         }
-        gui.getViewers().remove(event.getPlayer());
-        if (gui.getCloseActions().containsKey(CloseCause.QUIT)) {
-            gui.getCloseActions().get(CloseCause.QUIT).accept(event, event.getPlayer());
+        closeSession(player.getUniqueId(), gui, CloseCause.DEATH);
+        BiConsumer<Event, Player> action = gui.getCloseActions().get(CloseCause.DEATH);
+        if (action != null) {
+            action.accept(event, player);
         }
+        disposeIfUnused(gui);
     }
 
     @EventHandler
-    public void onPlayerDeath(PlayerDeathEvent event) {
-        if (!gui.getViewers().contains(event.getPlayer())) {
+    public void onPluginDisable(PluginDisableEvent event) {
+        if (event.getPlugin() != plugin) {
             return;
         }
-        gui.getViewers().remove(event.getEntity());
-        if (gui.getCloseActions().containsKey(CloseCause.DEATH)) {
-            gui.getCloseActions().get(CloseCause.DEATH).accept(event, event.getPlayer());
+        HandlerList.unregisterAll(this);
+        LISTENERS.remove(plugin);
+        asyncClicks.shutdown();
+        for (GUI gui : Set.copyOf(guis.values())) {
+            gui.dispose();
         }
     }
 
+    private void disposeIfUnused(@NotNull GUI gui) {
+        if (gui.isAutoDispose() && !gui.isRetained() && gui.getViewers().isEmpty()) {
+            gui.dispose();
+        }
+    }
+
+    private record Session(GUI gui, String name) {
+    }
 }
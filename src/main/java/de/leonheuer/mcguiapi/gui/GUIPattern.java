@@ -1,10 +1,14 @@
 package de.leonheuer.mcguiapi.gui;
 
+import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Builder class for a GUI pattern. Patterns contain lines of characters, each one standing for a defined item.
@@ -15,6 +19,8 @@ public class GUIPattern {
 
     private final List<String> lines;
     private final HashMap<Character, ItemStack> patternItems = new HashMap<>();
+    private final HashMap<Character, Consumer<InventoryClickEvent>> patternActions = new HashMap<>();
+    private final CompiledPattern[] compiled = new CompiledPattern[7]; // compiled patterns by amount of rows
     private int index = 0;
 
     // use static method to instantiate
@@ -33,13 +39,25 @@ public class GUIPattern {
 
     /**
      * Defines what item a character in the pattern should be replaced with.
+     * An action defined for the character before is removed.
      * @param identifier The character to replace
      * @param item The item to set in place
      * @return The current GUIPattern instance
      */
     public GUIPattern withMaterial(char identifier, ItemStack item) {
-        patternItems.put(identifier, item);
-        return this;
+        return define(identifier, item, null);
+    }
+
+    /**
+     * Defines what item a character in the pattern should be replaced with and what action should be performed
+     * when the item is clicked.
+     * @param identifier The character to replace
+     * @param item The item to set in place
+     * @param action Action to be executed when the item is clicked
+     * @return The current GUIPattern instance
+     */
+    public GUIPattern withMaterial(char identifier, ItemStack item, Consumer<InventoryClickEvent> action) {
+        return define(identifier, item, action);
     }
 
     /**
@@ -49,9 +67,75 @@ public class GUIPattern {
      */
     public GUIPattern startAtLine(int line) {
         index = (line - 1) * 9;
+        Arrays.fill(compiled, null);
         return this;
     }
 
+    /**
+     * Resolves the pattern for a GUI with the specified amount of rows. The result is cached until the pattern
+     * is changed, so applying the same pattern many times only parses it once.
+     * @param rows The amount of rows of the GUI
+     * @return The compiled pattern
+     * @throws IllegalArgumentException if the amount of rows is not between 1 and 6
+     */
+    @NotNull
+    public CompiledPattern compile(int rows) {
+        if (rows < 1 || rows > 6) {
+            throw new IllegalArgumentException("Only 1 to 6 rows are allowed, but " + rows + " rows were given.");
+        }
+        CompiledPattern pattern = compiled[rows];
+        if (pattern == null) {
+            pattern = resolve(rows * 9);
+            compiled[rows] = pattern;
+        }
+        return pattern;
+    }
+
+    // replaces the item and action of the character, so a redefinition without action drops the previous action
+    private GUIPattern define(char identifier, ItemStack item, @Nullable Consumer<InventoryClickEvent> action) {
+        patternItems.put(identifier, item);
+        if (action == null) {
+            patternActions.remove(identifier);
+        } else {
+            patternActions.put(identifier, action);
+        }
+        Arrays.fill(compiled, null);
+        return this;
+    }
+
+    @NotNull
+    private CompiledPattern resolve(int size) {
+        int[] slots = new int[size];
+        ItemStack[] items = new ItemStack[size];
+        Consumer<InventoryClickEvent>[] actions = GUI.newActionTable(size);
+        int count = 0;
+        int slot = index;
+        lines:
+        for (String line : lines) {
+            int pos = 0;
+            for (int i = 0; i < line.length(); i++) {
+                if (slot > size - 1) {
+                    break lines;
+                }
+                if (pos > 8) {
+                    break;
+                }
+                ItemStack item = patternItems.get(line.charAt(i));
+                if (item != null) {
+                    slots[count] = slot;
+                    items[count] = item;
+                    actions[count] = patternActions.get(line.charAt(i));
+                    count++;
+                }
+                slot++;
+                pos++;
+            }
+            slot = slot + 9 - pos; // skip missing pattern characters for the line
+        }
+        return new CompiledPattern(size, Arrays.copyOf(slots, count), Arrays.copyOf(items, count),
+                Arrays.copyOf(actions, count));
+    }
+
     // for internal use only
     protected List<String> getLines() {
         return lines;
@@ -0,0 +1,52 @@
+package de.leonheuer.mcguiapi.gui;
+
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Immutable copy of the contents of a GUI, taken on the main thread at the end of a tick.
+ * It can be read from any thread. Use {@link GUI#getSnapshot()} to get the latest snapshot of a GUI.
+ */
+@SuppressWarnings("unused")
+public final class GUISnapshot {
+
+    private final ItemStack[] contents;
+
+    // taken by GUI when it is created and after its contents changed
+    GUISnapshot(@NotNull ItemStack[] contents) {
+        this.contents = contents;
+    }
+
+    /**
+     * Gets the amount of slots of the GUI.
+     * @return The amount of slots
+     */
+    public int getSize() {
+        return contents.length;
+    }
+
+    /**
+     * Gets a copy of the item at the specified slot.
+     * @param index Index of the GUI slot
+     * @return The item, or null if the slot was empty
+     */
+    @Nullable
+    public ItemStack getItem(int index) {
+        ItemStack item = contents[index];
+        return item == null ? null : item.clone();
+    }
+
+    /**
+     * Gets a copy of all items.
+     * @return The items by the index of their GUI slot, empty slots are null
+     */
+    @NotNull
+    public ItemStack[] getContents() {
+        ItemStack[] copy = new ItemStack[contents.length];
+        for (int i = 0; i < contents.length; i++) {
+            copy[i] = contents[i] == null ? null : contents[i].clone();
+        }
+        return copy;
+    }
+}
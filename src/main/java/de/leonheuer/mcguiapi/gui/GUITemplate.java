@@ -0,0 +1,128 @@
+package de.leonheuer.mcguiapi.gui;
+
+import de.leonheuer.mcguiapi.enums.CloseCause;
+import de.leonheuer.mcguiapi.exceptions.ForbiddenRowAmountException;
+import net.kyori.adventure.text.Component;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Event;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Immutable snapshot of a GUI layout that can be instantiated many times, e.g. once per player.
+ * A template captures the items, click actions, stealable slots and close actions of a GUI once.
+ * Instantiating it with {@link GUIFactory#createGUI(GUITemplate)} only copies the items into a new inventory,
+ * while the action tables are shared between all instances until an instance changes them.
+ */
+@SuppressWarnings("unused")
+public final class GUITemplate {
+
+    private final int size;
+    private final Component title;
+    private final ItemStack[] contents;
+    private final Consumer<InventoryClickEvent>[] clickActions;
+    private final long unStealableSlots;
+    private final Map<CloseCause, BiConsumer<Event, Player>> closeActions;
+    private final Consumer<InventoryClickEvent> defaultClickAction;
+    private final Consumer<Event> defaultCloseAction;
+
+    private GUITemplate(@NotNull GUI gui) {
+        size = gui.getInv().getSize();
+        title = gui.getTitle();
+        contents = gui.getInv().getContents();
+        for (int i = 0; i < contents.length; i++) {
+            if (contents[i] != null) {
+                contents[i] = contents[i].clone();
+            }
+        }
+        clickActions = gui.getClickActions().clone();
+        unStealableSlots = gui.getUnStealableSlots();
+        EnumMap<CloseCause, BiConsumer<Event, Player>> actions = new EnumMap<>(CloseCause.class);
+        actions.putAll(gui.getCloseActions());
+        closeActions = Collections.unmodifiableMap(actions);
+        defaultClickAction = gui.getDefaultClickAction();
+        defaultCloseAction = gui.getDefaultCloseAction();
+    }
+
+    /**
+     * Creates a template from the current state of the specified GUI.
+     * Later changes to the GUI do not affect the template.
+     * @param gui The GUI to take the layout from
+     * @return The created template
+     */
+    @NotNull
+    public static GUITemplate of(@NotNull GUI gui) {
+        return new GUITemplate(gui);
+    }
+
+    /**
+     * Creates a template with the specified amount of rows and title.
+     * The layout is applied once to a GUI that is not shown to anyone and not registered to any listener.
+     * @param rows The amount of rows
+     * @param title The title of the GUI, or null for the default title
+     * @param layout Function that sets the items and actions of the GUI
+     * @return The created template
+     * @throws ForbiddenRowAmountException if the amount of rows is not between 1 and 6
+     */
+    @NotNull
+    public static GUITemplate create(int rows, @Nullable String title, @NotNull Consumer<GUI> layout)
+            throws ForbiddenRowAmountException {
+        GUI gui = title == null ? new GUI(rows) : new GUI(rows, title);
+        layout.accept(gui);
+        return new GUITemplate(gui);
+    }
+
+    /**
+     * Gets the amount of slots of GUIs created from this template.
+     * @return The amount of slots
+     */
+    public int getSize() {
+        return size;
+    }
+
+    // for internal use only
+    @Nullable
+    Component getTitle() {
+        return title;
+    }
+
+    // for internal use only
+    ItemStack[] getContents() {
+        return contents;
+    }
+
+    // for internal use only
+    Consumer<InventoryClickEvent>[] getClickActions() {
+        return clickActions;
+    }
+
+    // for internal use only
+    long getUnStealableSlots() {
+        return unStealableSlots;
+    }
+
+    // for internal use only
+    Map<CloseCause, BiConsumer<Event, Player>> getCloseActions() {
+        return closeActions;
+    }
+
+    // for internal use only
+    @Nullable
+    Consumer<InventoryClickEvent> getDefaultClickAction() {
+        return defaultClickAction;
+    }
+
+    // for internal use only
+    @Nullable
+    Consumer<Event> getDefaultCloseAction() {
+        return defaultCloseAction;
+    }
+}
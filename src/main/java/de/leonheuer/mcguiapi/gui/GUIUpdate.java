@@ -0,0 +1,128 @@
+package de.leonheuer.mcguiapi.gui;
+
+import de.leonheuer.mcguiapi.utils.GUIUtils;
+import org.bukkit.Material;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Buffered set of item changes to a GUI, created by {@link GUI#update(java.util.function.Consumer)}.
+ * Writes are collected and applied once at the end of the update. Only slots whose item actually changed
+ * are written to the inventory, so unchanged slots cause no client update.
+ * Like {@link GUI#setItem(int, ItemStack)}, items are not stealable unless specified otherwise.
+ */
+@SuppressWarnings("unused")
+public class GUIUpdate {
+
+    private final ItemStack[] items;
+    private long written = 0L; // bit n is set if slot n has been written
+    private long unStealable = 0L; // bit n is set if an item that is not stealable has been written to slot n
+
+    // use GUI#update to create an update
+    GUIUpdate(int size) {
+        items = new ItemStack[size];
+    }
+
+    /**
+     * Sets an item at the given slot. The item is not stealable.
+     * @param index Index of the GUI slot
+     * @param itemStack Item to be set, or null to clear the slot
+     * @return The current update instance
+     */
+    @NotNull
+    public GUIUpdate setItem(int index, @Nullable ItemStack itemStack) {
+        return setItem(index, itemStack, false);
+    }
+
+    /**
+     * Sets an item at the given slot. Also sets whether the item can be stolen, i.e. taken out of the GUI.
+     * @param index Index of the GUI slot
+     * @param itemStack Item to be set, or null to clear the slot
+     * @param stealable Whether the item should be stealable
+     * @return The current update instance
+     */
+    @NotNull
+    public GUIUpdate setItem(int index, @Nullable ItemStack itemStack, boolean stealable) {
+        items[index] = itemStack;
+        written |= 1L << index;
+        if (itemStack != null && !stealable) {
+            unStealable |= 1L << index;
+        }
+        return this;
+    }
+
+    /**
+     * Sets an item at the given slot. The item is not stealable.
+     * @param row Row of the GUI slot
+     * @param column Column of the GUI slot
+     * @param itemStack Item to be set, or null to clear the slot
+     * @return The current update instance
+     */
+    @NotNull
+    public GUIUpdate setItem(int row, int column, @Nullable ItemStack itemStack) {
+        return setItem(GUIUtils.calculateIndex(row, column), itemStack, false);
+    }
+
+    /**
+     * Sets an item at the given slot. Also sets whether the item can be stolen, i.e. taken out of the GUI.
+     * @param row Row of the GUI slot
+     * @param column Column of the GUI slot
+     * @param itemStack Item to be set, or null to clear the slot
+     * @param stealable Whether the item should be stealable
+     * @return The current update instance
+     */
+    @NotNull
+    public GUIUpdate setItem(int row, int column, @Nullable ItemStack itemStack, boolean stealable) {
+        return setItem(GUIUtils.calculateIndex(row, column), itemStack, stealable);
+    }
+
+    /**
+     * Clears the item at the given slot.
+     * @param index Index of the GUI slot
+     * @return The current update instance
+     */
+    @NotNull
+    public GUIUpdate removeItem(int index) {
+        return setItem(index, null);
+    }
+
+    /**
+     * Clears the item at the given slot.
+     * @param row Row of the GUI slot
+     * @param column Column of the GUI slot
+     * @return The current update instance
+     */
+    @NotNull
+    public GUIUpdate removeItem(int row, int column) {
+        return setItem(GUIUtils.calculateIndex(row, column), null);
+    }
+
+    // writes all changed slots to the GUI and returns the amount of written slots
+    int apply(@NotNull GUI gui) {
+        gui.addUnStealableSlots(unStealable); // also for unchanged slots, the item may have been stealable before
+        Inventory inv = gui.getInv();
+        int changed = 0;
+        long remaining = written;
+        while (remaining != 0) {
+            int index = Long.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+            ItemStack item = items[index];
+            if (!isSame(inv.getItem(index), item)) {
+                gui.writeItem(index, item);
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    private static boolean isSame(@Nullable ItemStack current, @Nullable ItemStack item) {
+        boolean currentEmpty = current == null || current.getType() == Material.AIR;
+        boolean itemEmpty = item == null || item.getType() == Material.AIR;
+        if (currentEmpty || itemEmpty) {
+            return currentEmpty == itemEmpty;
+        }
+        return current.getAmount() == item.getAmount() && current.isSimilar(item);
+    }
+}
@@ -0,0 +1,63 @@
+package de.leonheuer.mcguiapi.gui;
+
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.Inventory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pool of cleared inventories that are reused by GUIs of the same size and title.
+ * Inventories are returned to the pool at the tick after their GUI has been disposed, once the closing viewers
+ * have left them. Inventories that still have viewers are not pooled. Must only be used from the main thread.
+ */
+final class InventoryPool {
+
+    private final Map<Key, ArrayDeque<Inventory>> free = new HashMap<>();
+    private final int maxSize;
+    private int pooled = 0;
+    private long hits = 0;
+    private long misses = 0;
+
+    InventoryPool(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @NotNull
+    Inventory acquire(int size, @Nullable Component title) {
+        ArrayDeque<Inventory> inventories = free.get(new Key(size, title));
+        Inventory inventory = inventories == null ? null : inventories.poll();
+        if (inventory == null) {
+            misses++;
+            return GUI.createInventory(size, title);
+        }
+        hits++;
+        pooled--;
+        return inventory;
+    }
+
+    void release(@NotNull Inventory inventory, @Nullable Component title) {
+        if (pooled >= maxSize || !inventory.getViewers().isEmpty()) {
+            return;
+        }
+        inventory.clear();
+        free.computeIfAbsent(new Key(inventory.getSize(), title), key -> new ArrayDeque<>()).push(inventory);
+        pooled++;
+    }
+
+    int getPooledCount() {
+        return pooled;
+    }
+
+    double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    private record Key(int size, Component title) {
+    }
+}
@@ -0,0 +1,201 @@
+package de.leonheuer.mcguiapi.gui;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Per-player history of GUIs for menus that are nested into each other, e.g. main menu, category, item, confirmation.
+ * Pushing a GUI keeps the current one cached, so going back shows the already rendered parent instead of building
+ * it again. GUIs in the history are not disposed automatically while they are cached.
+ * <p>
+ * The history of each player is bounded. Only the topmost entries are kept cached. Deeper entries that have been
+ * pushed with a {@link Supplier} are disposed to free memory and built again when the player goes back to them.
+ * Entries beyond the maximum depth are dropped. The history of a player is cleared when they quit.
+ * Must only be used from the main thread.
+ */
+@SuppressWarnings("unused")
+public final class Navigation {
+
+    private final Map<UUID, Deque<Entry>> stacks = new HashMap<>();
+    private int cachedDepth = 3;
+    private int maxDepth = 16;
+
+    // use GUIFactory#getNavigation to get the navigation of a plugin
+    Navigation() {
+    }
+
+    /**
+     * Sets how many GUIs of a player's history are kept cached and how many entries the history can have at most.
+     * @param cachedDepth The amount of topmost entries that are always kept cached, at least 1
+     * @param maxDepth The maximum amount of entries, at least the cached depth
+     * @return The current navigation instance
+     */
+    @NotNull
+    public Navigation setDepth(int cachedDepth, int maxDepth) {
+        if (cachedDepth < 1 || maxDepth < cachedDepth) {
+            throw new IllegalArgumentException("The cached depth must be at least 1 and at most the maximum depth.");
+        }
+        this.cachedDepth = cachedDepth;
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    /**
+     * Shows the GUI to the player and puts it on top of their history. The previous GUI stays cached.
+     * @param player The player
+     * @param gui The GUI to show
+     */
+    public void push(@NotNull Player player, @NotNull GUI gui) {
+        push(player, gui, null);
+    }
+
+    /**
+     * Builds a GUI, shows it to the player and puts it on top of their history. The previous GUI stays cached.
+     * If the entry gets too deep in the history, the GUI is disposed and built again with the supplier
+     * when the player goes back to it.
+     * @param player The player
+     * @param supplier Function that builds the GUI
+     */
+    public void push(@NotNull Player player, @NotNull Supplier<GUI> supplier) {
+        push(player, supplier.get(), supplier);
+    }
+
+    /**
+     * Shows the previous GUI of the player's history again and removes the current one from it.
+     * @param player The player
+     * @return Whether there was a previous GUI to go back to
+     */
+    public boolean pop(@NotNull Player player) {
+        Deque<Entry> stack = stacks.get(player.getUniqueId());
+        if (stack == null || stack.size() < 2) {
+            return false;
+        }
+        Entry current = stack.pop();
+        GUI parent = null;
+        while (!stack.isEmpty() && (parent = stack.peek().resolve()) == null) {
+            stack.pop(); // the entry has been disposed and cannot be built again
+        }
+        if (parent == null) {
+            stack.push(current);
+            return false;
+        }
+        parent.show(player);
+        release(current);
+        return true;
+    }
+
+    /**
+     * Shows the GUI to the player and replaces the current GUI of their history with it.
+     * @param player The player
+     * @param gui The GUI to show
+     */
+    public void replace(@NotNull Player player, @NotNull GUI gui) {
+        Deque<Entry> stack = stacks.get(player.getUniqueId());
+        Entry current = stack == null ? null : stack.poll();
+        push(player, gui, null);
+        if (current != null) {
+            release(current);
+        }
+    }
+
+    /**
+     * Clears the history of the player. The player keeps looking at the current GUI.
+     * @param player The player
+     */
+    public void clear(@NotNull Player player) {
+        clear(player.getUniqueId());
+    }
+
+    /**
+     * Gets the amount of entries in the history of the player.
+     * @param player The player
+     * @return The depth of the history, 0 if it is empty
+     */
+    public int getDepth(@NotNull Player player) {
+        Deque<Entry> stack = stacks.get(player.getUniqueId());
+        return stack == null ? 0 : stack.size();
+    }
+
+    // for internal use only
+    int getTrackedPlayerCount() {
+        return stacks.size();
+    }
+
+    // for internal use only
+    void clear(@NotNull UUID uuid) {
+        Deque<Entry> stack = stacks.remove(uuid);
+        if (stack != null) {
+            stack.forEach(this::release);
+        }
+    }
+
+    private void push(@NotNull Player player, @NotNull GUI gui, @Nullable Supplier<GUI> supplier) {
+        Deque<Entry> stack = stacks.computeIfAbsent(player.getUniqueId(), key -> new ArrayDeque<>());
+        gui.retain();
+        stack.push(new Entry(gui, supplier));
+        gui.show(player);
+        trim(stack);
+    }
+
+    private void trim(@NotNull Deque<Entry> stack) {
+        int depth = 0;
+        Iterator<Entry> iterator = stack.iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (depth >= maxDepth) {
+                iterator.remove();
+                release(entry);
+            } else if (depth >= cachedDepth && entry.supplier != null && entry.gui != null) {
+                release(entry);
+            }
+            depth++;
+        }
+    }
+
+    // the GUI of the entry is disposed if it has been built by a supplier or is disposed automatically anyway
+    private void release(@NotNull Entry entry) {
+        GUI gui = entry.gui;
+        if (gui == null) {
+            return;
+        }
+        entry.gui = null;
+        gui.release();
+        if (!gui.isRetained() && gui.getViewers().isEmpty() && (entry.supplier != null || gui.isAutoDispose())) {
+            gui.dispose();
+        }
+    }
+
+    private static final class Entry {
+
+        private final Supplier<GUI> supplier;
+        private GUI gui;
+
+        private Entry(@NotNull GUI gui, @Nullable Supplier<GUI> supplier) {
+            this.gui = gui;
+            this.supplier = supplier;
+        }
+
+        // returns the cached GUI or builds it again, or null if that is not possible
+        @Nullable
+        private GUI resolve() {
+            if (gui != null && !gui.isDisposed()) {
+                return gui;
+            }
+            if (supplier == null) {
+                return null;
+            }
+            gui = supplier.get();
+            gui.retain();
+            return gui;
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package de.leonheuer.mcguiapi.gui;
+
+import de.leonheuer.mcguiapi.exceptions.ForbiddenRowAmountException;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * GUI that displays the entries of a data source on several pages.
+ * Only the entries of the visible page are fetched and rendered. Changing the page reuses the same inventory,
+ * so viewers stay in the GUI. Optionally, the next page can be fetched and rendered asynchronously in advance.
+ * @param <T> The type of the entries
+ */
+@SuppressWarnings("unused")
+public class PaginatedGUI<T> extends GUI {
+
+    private final DataSource<T> source;
+    private final Function<T, ItemStack> renderer;
+    private int[] contentSlots;
+    private Consumer<InventoryClickEvent>[] contentActions; // actions registered for the content slots, by position
+    private ItemStack[] renderedItems = new ItemStack[0]; // items of the displayed page, by position
+    private BiConsumer<InventoryClickEvent, T> entryClickAction = null;
+    private int previousButtonSlot = -1;
+    private ItemStack previousButton = null;
+    private int nextButtonSlot = -1;
+    private ItemStack nextButton = null;
+    private boolean prefetch = false;
+    private int page = 0;
+    private boolean rendered = false;
+    private List<T> entries = List.of();
+    private volatile RenderedPage<T> prefetched = null;
+    private int generation = 0; // incremented on refresh, so pages prefetched before are discarded
+
+    // use GUIFactory to create a new GUI
+    protected PaginatedGUI(int rows, @NotNull DataSource<T> source, @NotNull Function<T, ItemStack> renderer)
+            throws ForbiddenRowAmountException {
+        super(rows);
+        this.source = source;
+        this.renderer = renderer;
+        contentSlots = defaultContentSlots(rows);
+        registerContentActions();
+    }
+
+    // use GUIFactory to create a new GUI
+    protected PaginatedGUI(int rows, @NotNull String title, @NotNull DataSource<T> source,
+                           @NotNull Function<T, ItemStack> renderer) throws ForbiddenRowAmountException {
+        super(rows, title);
+        this.source = source;
+        this.renderer = renderer;
+        contentSlots = defaultContentSlots(rows);
+        registerContentActions();
+    }
+
+    /**
+     * Sets the slots that display the entries of a page. By default, every slot except the last row is used.
+     * Entries displayed in the previous content slots are removed, while items and actions that have been set
+     * on these slots in the meantime are kept.
+     * @param slots The indices of the GUI slots in display order
+     * @return The current GUI instance
+     */
+    @NotNull
+    public PaginatedGUI<T> setContentSlots(int... slots) {
+        update(update -> {
+            for (int i = 0; i < contentSlots.length; i++) {
+                int slot = contentSlots[i];
+                if (getClickAction(slot) == contentActions[i]) {
+                    removeClickAction(slot);
+                    setStealable(slot, true);
+                }
+                if (i < renderedItems.length && renderedItems[i] != null
+                        && renderedItems[i].equals(getInv().getItem(slot))) {
+                    update.setItem(slot, null);
+                }
+            }
+        });
+        renderedItems = new ItemStack[0];
+        contentSlots = slots.clone();
+        registerContentActions();
+        return refresh();
+    }
+
+    /**
+     * Sets the action to perform when an entry is clicked.
+     * @param action Action receiving the click event and the clicked entry
+     * @return The current GUI instance
+     */
+    @NotNull
+    public PaginatedGUI<T> setEntryClickAction(@Nullable BiConsumer<InventoryClickEvent, T> action) {
+        this.entryClickAction = action;
+        return this;
+    }
+
+    /**
+     * Sets the button that opens the previous page. It is only displayed if there is a previous page.
+     * @param index Index of the GUI slot
+     * @param item Item of the button
+     * @return The current GUI instance
+     */
+    @NotNull
+    public PaginatedGUI<T> setPreviousPageButton(int index, @NotNull ItemStack item) {
+        previousButtonSlot = index;
+        previousButton = item;
+        setStealable(index, false);
+        setClickAction(index, event -> previousPage());
+        return refresh();
+    }
+
+    /**
+     * Sets the button that opens the next page. It is only displayed if there is a next page.
+     * @param index Index of the GUI slot
+     * @param item Item of the button
+     * @return The current GUI instance
+     */
+    @NotNull
+    public PaginatedGUI<T> setNextPageButton(int index, @NotNull ItemStack item) {
+        nextButtonSlot = index;
+        nextButton = item;
+        setStealable(index, false);
+        setClickAction(index, event -> nextPage());
+        return refresh();
+    }
+
+    /**
+     * Sets whether the next page should be fetched and rendered asynchronously after a page has been displayed.
+     * The data source and the renderer must be thread safe if this is enabled.
+     * @param prefetch Whether the next page should be prefetched
+     * @return The current GUI instance
+     */
+    @NotNull
+    public PaginatedGUI<T> setPrefetch(boolean prefetch) {
+        this.prefetch = prefetch;
+        return this;
+    }
+
+    /**
+     * Displays the specified page. The page is clamped to the available pages.
+     * @param page The page, starting at 0
+     * @return The current GUI instance
+     */
+    @NotNull
+    public PaginatedGUI<T> setPage(int page) {
+        this.page = Math.max(0, Math.min(page, getPageCount() - 1));
+        render();
+        return this;
+    }
+
+    /**
+     * Displays the next page if there is one.
+     * @return The current GUI instance
+     */
+    @NotNull
+    public PaginatedGUI<T> nextPage() {
+        return setPage(page + 1);
+    }
+
+    /**
+     * Displays the previous page if there is one.
+     * @return The current GUI instance
+     */
+    @NotNull
+    public PaginatedGUI<T> previousPage() {
+        return setPage(page - 1);
+    }
+
+    /**
+     * Renders the current page again, e.g. after the data source has changed.
+     * @return The current GUI instance
+     */
+    @NotNull
+    public PaginatedGUI<T> refresh() {
+        generation++;
+        prefetched = null;
+        if (rendered) {
+            setPage(page);
+        }
+        return this;
+    }
+
+    /**
+     * Gets the currently displayed page.
+     * @return The page, starting at 0
+     */
+    public int getPage() {
+        return page;
+    }
+
+    /**
+     * Gets the amount of pages.
+     * @return The amount of pages, at least 1
+     */
+    public int getPageCount() {
+        if (contentSlots.length == 0) {
+            return 1;
+        }
+        return Math.max(1, (source.size() + contentSlots.length - 1) / contentSlots.length);
+    }
+
+    /**
+     * Shows the GUI to the specified player. The first page is rendered when the GUI is shown for the first time.
+     * @param player The player to show the GUI to
+     */
+    @Override
+    public void show(@NotNull Player player) {
+        if (!rendered) {
+            render();
+        }
+        super.show(player);
+    }
+
+    private void render() {
+        rendered = true;
+        RenderedPage<T> current = prefetched;
+        if (current == null || current.page != page || current.pageSize != contentSlots.length
+                || current.generation != generation) {
+            current = fetch(page, contentSlots.length, generation);
+        }
+        prefetched = null;
+        entries = current.entries;
+        ItemStack[] items = current.items;
+        renderedItems = items;
+        update(update -> {
+            for (int i = 0; i < contentSlots.length; i++) {
+                update.setItem(contentSlots[i], i < items.length ? items[i] : null);
+            }
+            if (previousButton != null) {
+                update.setItem(previousButtonSlot, page > 0 ? previousButton : null);
+            }
+            if (nextButton != null) {
+                update.setItem(nextButtonSlot, page < getPageCount() - 1 ? nextButton : null);
+            }
+        });
+        if (prefetch && page < getPageCount() - 1) {
+            prefetchPage(page + 1);
+        }
+    }
+
+    private void prefetchPage(int nextPage) {
+        GUIListener listener = getListener();
+        if (listener == null) {
+            return;
+        }
+        int pageSize = contentSlots.length;
+        int currentGeneration = generation;
+        Bukkit.getScheduler().runTaskAsynchronously(listener.getPlugin(),
+                () -> prefetched = fetch(nextPage, pageSize, currentGeneration));
+    }
+
+    @NotNull
+    private RenderedPage<T> fetch(int page, int pageSize, int generation) {
+        int from = page * pageSize;
+        List<T> pageEntries = List.copyOf(source.getRange(from, from + pageSize));
+        ItemStack[] items = new ItemStack[pageEntries.size()];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = renderer.apply(pageEntries.get(i));
+        }
+        return new RenderedPage<>(page, pageSize, generation, pageEntries, items);
+    }
+
+    private void registerContentActions() {
+        contentActions = GUI.newActionTable(contentSlots.length);
+        for (int i = 0; i < contentSlots.length; i++) {
+            int position = i;
+            contentActions[i] = event -> {
+                if (entryClickAction != null && position < entries.size()) {
+                    entryClickAction.accept(event, entries.get(position));
+                }
+            };
+            setStealable(contentSlots[i], false);
+            setClickAction(contentSlots[i], contentActions[i]);
+        }
+    }
+
+    private static int[] defaultContentSlots(int rows) {
+        int size = rows == 1 ? 9 : (rows - 1) * 9;
+        int[] slots = new int[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = i;
+        }
+        return slots;
+    }
+
+    private record RenderedPage<T>(int page, int pageSize, int generation, List<T> entries, ItemStack[] items) {
+    }
+}
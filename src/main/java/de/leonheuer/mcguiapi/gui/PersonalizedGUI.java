@@ -0,0 +1,213 @@
+package de.leonheuer.mcguiapi.gui;
+
+import de.leonheuer.mcguiapi.exceptions.ForbiddenRowAmountException;
+import de.leonheuer.mcguiapi.utils.GUIUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Shared GUI whose layout is the same for everyone except a few dynamic slots that are rendered for each viewer,
+ * e.g. the balance or owned items of a player. Static slots are set once like in any other GUI.
+ * <p>
+ * Dynamic slots are rendered when the GUI is shown to a player and the result is cached while the player is looking
+ * at the GUI, so showing it to them again renders nothing. Use the invalidate methods when the data behind a dynamic
+ * slot changes. Cached items are discarded when the player leaves the GUI.
+ * <p>
+ * Like any shared GUI with overlay slots, every viewer gets an own copy of the inventory, so showing the GUI to a
+ * player copies all of its items once.
+ */
+@SuppressWarnings("unused")
+public class PersonalizedGUI extends SharedGUI {
+
+    private final Function<Player, ItemStack>[] renderers;
+    private final Map<UUID, RenderedSlots> rendered = new ConcurrentHashMap<>();
+    private long dynamicSlots = 0L; // bit n is set if slot n is rendered for each viewer
+
+    // use GUIFactory to create a new GUI
+    protected PersonalizedGUI(int rows) throws ForbiddenRowAmountException {
+        super(rows);
+        renderers = newRendererTable(rows * 9);
+    }
+
+    // use GUIFactory to create a new GUI
+    protected PersonalizedGUI(int rows, @NotNull String title) throws ForbiddenRowAmountException {
+        super(rows, title);
+        renderers = newRendererTable(rows * 9);
+    }
+
+    /**
+     * Marks the slot as dynamic and sets the function rendering its item for each viewer.
+     * If the function returns null, the viewer sees the shared item of the slot. The slot is not stealable.
+     * @param index Index of the GUI slot
+     * @param renderer Function that creates the item for a viewer
+     * @return The current GUI instance
+     */
+    @NotNull
+    public PersonalizedGUI setDynamicItem(int index, @NotNull Function<Player, ItemStack> renderer) {
+        renderers[index] = renderer;
+        dynamicSlots |= 1L << index;
+        addOverlaySlot(index);
+        setStealable(index, false);
+        return invalidateSlot(index);
+    }
+
+    /**
+     * Marks the slot as dynamic and sets the function rendering its item for each viewer.
+     * If the function returns null, the viewer sees the shared item of the slot. The slot is not stealable.
+     * @param row Row of the GUI slot
+     * @param column Column of the GUI slot
+     * @param renderer Function that creates the item for a viewer
+     * @return The current GUI instance
+     */
+    @NotNull
+    public PersonalizedGUI setDynamicItem(int row, int column, @NotNull Function<Player, ItemStack> renderer) {
+        return setDynamicItem(GUIUtils.calculateIndex(row, column), renderer);
+    }
+
+    /**
+     * Discards the cached item of the dynamic slot for the player. If the player is looking at the GUI,
+     * the slot is rendered again immediately.
+     * @param player The player
+     * @param index Index of the GUI slot
+     * @return The current GUI instance
+     */
+    @NotNull
+    public PersonalizedGUI invalidate(@NotNull Player player, int index) {
+        RenderedSlots slots = rendered.get(player.getUniqueId());
+        if (slots != null) {
+            slots.valid &= ~(1L << index);
+        }
+        if (getViewers().contains(player.getUniqueId())) {
+            render(player);
+        }
+        return this;
+    }
+
+    /**
+     * Discards all cached items of the player. If the player is looking at the GUI,
+     * the dynamic slots are rendered again immediately.
+     * @param player The player
+     * @return The current GUI instance
+     */
+    @NotNull
+    public PersonalizedGUI invalidate(@NotNull Player player) {
+        rendered.remove(player.getUniqueId());
+        if (getViewers().contains(player.getUniqueId())) {
+            render(player);
+        }
+        return this;
+    }
+
+    /**
+     * Discards the cached items of the dynamic slot for all players. The slot is rendered again immediately
+     * for all players looking at the GUI.
+     * @param index Index of the GUI slot
+     * @return The current GUI instance
+     */
+    @NotNull
+    public PersonalizedGUI invalidateSlot(int index) {
+        long mask = ~(1L << index);
+        for (RenderedSlots slots : rendered.values()) {
+            slots.valid &= mask;
+        }
+        renderViewers();
+        return this;
+    }
+
+    /**
+     * Discards all cached items of all players. The dynamic slots are rendered again immediately
+     * for all players looking at the GUI.
+     * @return The current GUI instance
+     */
+    @NotNull
+    public PersonalizedGUI invalidateAll() {
+        rendered.clear();
+        renderViewers();
+        return this;
+    }
+
+    /**
+     * Declares the slots that can show a personal item to each viewer. Dynamic slots always stay overlay slots.
+     * @param slots The indices of the GUI slots
+     * @return The current GUI instance
+     */
+    @NotNull
+    @Override
+    public PersonalizedGUI setOverlaySlots(int... slots) {
+        super.setOverlaySlots(slots);
+        long remaining = dynamicSlots;
+        while (remaining != 0) {
+            addOverlaySlot(Long.numberOfTrailingZeros(remaining));
+            remaining &= remaining - 1;
+        }
+        return this;
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        rendered.clear();
+    }
+
+    @Override
+    protected void viewerRemoved(@NotNull UUID uuid) {
+        super.viewerRemoved(uuid);
+        rendered.remove(uuid);
+    }
+
+    @NotNull
+    @Override
+    protected Inventory openFor(@NotNull Player player) {
+        Inventory inventory = super.openFor(player);
+        render(player); // personal items are only kept for players who have an own copy
+        return inventory;
+    }
+
+    // renders the invalid dynamic slots of the player and shows the results as overlays
+    private void render(@NotNull Player player) {
+        RenderedSlots slots = rendered.computeIfAbsent(player.getUniqueId(),
+                key -> new RenderedSlots(renderers.length));
+        long remaining = dynamicSlots;
+        while (remaining != 0) {
+            int index = Long.numberOfTrailingZeros(remaining);
+            remaining &= remaining - 1;
+            if ((slots.valid & 1L << index) == 0) {
+                slots.items[index] = renderers[index].apply(player);
+                slots.valid |= 1L << index;
+            }
+            setOverlay(player, index, slots.items[index]);
+        }
+    }
+
+    private void renderViewers() {
+        for (UUID uuid : getViewers()) {
+            Player player = Bukkit.getPlayer(uuid);
+            if (player != null) {
+                render(player);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Function<Player, ItemStack>[] newRendererTable(int size) {
+        return (Function<Player, ItemStack>[]) new Function[size];
+    }
+
+    private static final class RenderedSlots {
+
+        private final ItemStack[] items;
+        private long valid = 0L; // bit n is set if the item of slot n is up to date
+
+        private RenderedSlots(int size) {
+            items = new ItemStack[size];
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package de.leonheuer.mcguiapi.gui;
+
+import de.leonheuer.mcguiapi.utils.GUIUtils;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Scrollable grid that displays the entries of a data source in a rectangular region of a GUI.
+ * Only the entries of the visible rows are fetched. Rendered items are cached for the visible rows and one
+ * window above and below them, so scrolling back and forth does not render entries again, and only slots
+ * whose item actually changed are written to the inventory.
+ * @param <T> The type of the entries
+ */
+@SuppressWarnings("unused")
+public class ScrollView<T> {
+
+    private final GUI gui;
+    private final int firstRow;
+    private final int firstColumn;
+    private final int rows;
+    private final int columns;
+    private final DataSource<T> source;
+    private final Function<T, ItemStack> renderer;
+    private final Map<Integer, Cell<T>> cache = new HashMap<>();
+    private BiConsumer<InventoryClickEvent, T> entryClickAction = null;
+    private int upButtonSlot = -1;
+    private ItemStack upButton = null;
+    private int downButtonSlot = -1;
+    private ItemStack downButton = null;
+    private int offset = 0; // the first visible row of the data source
+
+    private ScrollView(@NotNull GUI gui, int row, int column, int rows, int columns, @NotNull DataSource<T> source,
+                       @NotNull Function<T, ItemStack> renderer) {
+        this.gui = gui;
+        this.firstRow = row;
+        this.firstColumn = column;
+        this.rows = rows;
+        this.columns = columns;
+        this.source = source;
+        this.renderer = renderer;
+    }
+
+    /**
+     * Creates a scroll view in the specified region of the GUI and renders the first rows.
+     * The slots of the region are not stealable.
+     * @param gui The GUI to place the scroll view in
+     * @param row Row of the upper left slot of the region
+     * @param column Column of the upper left slot of the region
+     * @param rows Amount of visible rows
+     * @param columns Amount of visible columns
+     * @param source The data source of the entries to display
+     * @param renderer Function that creates the item displaying an entry
+     * @param <T> The type of the entries
+     * @return The scroll view
+     * @throws IllegalArgumentException if the region does not fit into the GUI
+     */
+    @NotNull
+    public static <T> ScrollView<T> create(@NotNull GUI gui, int row, int column, int rows, int columns,
+                                           @NotNull DataSource<T> source, @NotNull Function<T, ItemStack> renderer) {
+        if (rows < 1 || columns < 1 || row < 1 || column < 1 || column + columns - 1 > 9
+                || (row + rows - 1) * 9 > gui.getInv().getSize()) {
+            throw new IllegalArgumentException("The region of " + rows + "x" + columns + " slots at row " + row
+                    + " and column " + column + " does not fit into the GUI.");
+        }
+        ScrollView<T> view = new ScrollView<>(gui, row, column, rows, columns, source, renderer);
+        view.registerCellActions();
+        view.render();
+        return view;
+    }
+
+    /**
+     * Sets the action to perform when an entry is clicked.
+     * @param action Action receiving the click event and the clicked entry
+     * @return The current scroll view instance
+     */
+    @NotNull
+    public ScrollView<T> setEntryClickAction(@Nullable BiConsumer<InventoryClickEvent, T> action) {
+        this.entryClickAction = action;
+        return this;
+    }
+
+    /**
+     * Sets the button that scrolls up by one row. It is only displayed if the view can scroll up.
+     * @param index Index of the GUI slot
+     * @param item Item of the button
+     * @return The current scroll view instance
+     */
+    @NotNull
+    public ScrollView<T> setUpButton(int index, @NotNull ItemStack item) {
+        upButtonSlot = index;
+        upButton = item;
+        gui.setStealable(index, false);
+        gui.setClickAction(index, event -> scrollUp());
+        render();
+        return this;
+    }
+
+    /**
+     * Sets the button that scrolls up by one row. It is only displayed if the view can scroll up.
+     * @param row Row of the GUI slot
+     * @param column Column of the GUI slot
+     * @param item Item of the button
+     * @return The current scroll view instance
+     */
+    @NotNull
+    public ScrollView<T> setUpButton(int row, int column, @NotNull ItemStack item) {
+        return setUpButton(GUIUtils.calculateIndex(row, column), item);
+    }
+
+    /**
+     * Sets the button that scrolls down by one row. It is only displayed if the view can scroll down.
+     * @param index Index of the GUI slot
+     * @param item Item of the button
+     * @return The current scroll view instance
+     */
+    @NotNull
+    public ScrollView<T> setDownButton(int index, @NotNull ItemStack item) {
+        downButtonSlot = index;
+        downButton = item;
+        gui.setStealable(index, false);
+        gui.setClickAction(index, event -> scrollDown());
+        render();
+        return this;
+    }
+
+    /**
+     * Sets the button that scrolls down by one row. It is only displayed if the view can scroll down.
+     * @param row Row of the GUI slot
+     * @param column Column of the GUI slot
+     * @param item Item of the button
+     * @return The current scroll view instance
+     */
+    @NotNull
+    public ScrollView<T> setDownButton(int row, int column, @NotNull ItemStack item) {
+        return setDownButton(GUIUtils.calculateIndex(row, column), item);
+    }
+
+    /**
+     * Scrolls to the specified row. The row is clamped to the available rows.
+     * @param offset The row of the data source that should be displayed at the top, starting at 0
+     * @return The current scroll view instance
+     */
+    @NotNull
+    public ScrollView<T> setOffset(int offset) {
+        int clamped = Math.max(0, Math.min(offset, getMaxOffset()));
+        if (clamped != this.offset) {
+            this.offset = clamped;
+            render();
+        }
+        return this;
+    }
+
+    /**
+     * Scrolls by the specified amount of rows.
+     * @param rows The amount of rows, negative values scroll up
+     * @return The current scroll view instance
+     */
+    @NotNull
+    public ScrollView<T> scrollBy(int rows) {
+        return setOffset(offset + rows);
+    }
+
+    /**
+     * Scrolls up by one row if possible.
+     * @return The current scroll view instance
+     */
+    @NotNull
+    public ScrollView<T> scrollUp() {
+        return scrollBy(-1);
+    }
+
+    /**
+     * Scrolls down by one row if possible.
+     * @return The current scroll view instance
+     */
+    @NotNull
+    public ScrollView<T> scrollDown() {
+        return scrollBy(1);
+    }
+
+    /**
+     * Discards all cached items and renders the visible rows again, e.g. after the data source has changed.
+     * @return The current scroll view instance
+     */
+    @NotNull
+    public ScrollView<T> refresh() {
+        cache.clear();
+        offset = Math.max(0, Math.min(offset, getMaxOffset()));
+        render();
+        return this;
+    }
+
+    /**
+     * Gets the row of the data source that is displayed at the top.
+     * @return The offset, starting at 0
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the highest offset the view can scroll to.
+     * @return The maximum offset
+     */
+    public int getMaxOffset() {
+        int totalRows = (source.size() + columns - 1) / columns;
+        return Math.max(0, totalRows - rows);
+    }
+
+    /**
+     * Gets the GUI the scroll view is placed in.
+     * @return The GUI
+     */
+    @NotNull
+    public GUI getGUI() {
+        return gui;
+    }
+
+    private void render() {
+        int visible = rows * columns;
+        int first = offset * columns;
+        int end = Math.min(first + visible, source.size());
+        loadMissing(first, end);
+        evictDistant(first, end, visible);
+        gui.update(update -> {
+            for (int i = 0; i < visible; i++) {
+                Cell<T> cell = cache.get(first + i);
+                update.setItem(slotOf(i), cell != null ? cell.item : null);
+            }
+            if (upButton != null) {
+                update.setItem(upButtonSlot, offset > 0 ? upButton : null);
+            }
+            if (downButton != null) {
+                update.setItem(downButtonSlot, offset < getMaxOffset() ? downButton : null);
+            }
+        });
+    }
+
+    // fetches the uncached entries between the first and the last uncached index in one range request
+    private void loadMissing(int from, int to) {
+        int firstMissing = -1;
+        int lastMissing = -1;
+        for (int i = from; i < to; i++) {
+            if (!cache.containsKey(i)) {
+                if (firstMissing < 0) {
+                    firstMissing = i;
+                }
+                lastMissing = i;
+            }
+        }
+        if (firstMissing < 0) {
+            return;
+        }
+        List<T> entries = source.getRange(firstMissing, lastMissing + 1);
+        for (int i = 0; i < entries.size(); i++) {
+            int index = firstMissing + i;
+            if (!cache.containsKey(index)) {
+                T entry = entries.get(i);
+                cache.put(index, new Cell<>(entry, renderer.apply(entry)));
+            }
+        }
+    }
+
+    private void evictDistant(int from, int to, int margin) {
+        Iterator<Integer> iterator = cache.keySet().iterator();
+        while (iterator.hasNext()) {
+            int index = iterator.next();
+            if (index < from - margin || index >= to + margin) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void registerCellActions() {
+        for (int i = 0; i < rows * columns; i++) {
+            int position = i;
+            int slot = slotOf(i);
+            gui.setStealable(slot, false);
+            gui.setClickAction(slot, event -> {
+                Cell<T> cell = cache.get(offset * columns + position);
+                if (entryClickAction != null && cell != null) {
+                    entryClickAction.accept(event, cell.entry);
+                }
+            });
+        }
+    }
+
+    private int slotOf(int position) {
+        return GUIUtils.calculateIndex(firstRow + position / columns, firstColumn + position % columns);
+    }
+
+    private record Cell<T>(T entry, ItemStack item) {
+    }
+}
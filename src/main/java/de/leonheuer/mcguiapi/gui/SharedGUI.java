@@ -0,0 +1,240 @@
+package de.leonheuer.mcguiapi.gui;
+
+import de.leonheuer.mcguiapi.exceptions.ForbiddenRowAmountException;
+import de.leonheuer.mcguiapi.utils.GUIUtils;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * GUI that is meant to be viewed by many players at once, e.g. a server-wide shop or an event board.
+ * All viewers look at the same inventory, so a change is written once no matter how many players are watching.
+ * <p>
+ * Overlay slots can show a personal item to each viewer. As Minecraft has no per-viewer slots, every viewer
+ * gets an own copy of the inventory as soon as overlay slots are declared. Changes are still computed once and
+ * copied to the inventory of each viewer, but the cost of a write then grows with the amount of viewers.
+ * Taking an item out of such a copy would duplicate it, so no slot is stealable while overlay slots are declared
+ * or viewers still look at a copy.
+ */
+@SuppressWarnings("unused")
+public class SharedGUI extends GUI {
+
+    private final Map<UUID, Inventory> viewerInventories = new ConcurrentHashMap<>();
+    private final Map<UUID, ItemStack[]> overlays = new ConcurrentHashMap<>();
+    private long overlaySlots = 0L; // bit n is set if slot n shows a personal item to each viewer
+
+    // use GUIFactory to create a new GUI
+    protected SharedGUI(int rows) throws ForbiddenRowAmountException {
+        super(rows);
+    }
+
+    // use GUIFactory to create a new GUI
+    protected SharedGUI(int rows, @NotNull String title) throws ForbiddenRowAmountException {
+        super(rows, title);
+    }
+
+    /**
+     * Declares the slots that can show a personal item to each viewer.
+     * Players who are already looking at the GUI only see their personal items after it is shown to them again.
+     * While overlay slots are declared, every viewer gets an own copy of the inventory and no slot is stealable.
+     * @param slots The indices of the GUI slots
+     * @return The current GUI instance
+     */
+    @NotNull
+    public SharedGUI setOverlaySlots(int... slots) {
+        long mask = 0L;
+        for (int slot : slots) {
+            mask |= 1L << slot;
+        }
+        overlaySlots = mask;
+        return this;
+    }
+
+    /**
+     * Shows a personal item to the specified player at the given overlay slot.
+     * Personal items are discarded when the player leaves the GUI. Nothing happens if the player is not looking
+     * at an own copy of the GUI, e.g. because they have not opened it yet.
+     * @param player The player
+     * @param index Index of the GUI slot
+     * @param itemStack Item to be shown, or null to show the shared item again
+     * @return The current GUI instance
+     * @throws IllegalArgumentException if the slot has not been declared as overlay slot
+     */
+    @NotNull
+    public SharedGUI setOverlay(@NotNull Player player, int index, @Nullable ItemStack itemStack) {
+        if ((overlaySlots & 1L << index) == 0) {
+            throw new IllegalArgumentException("Slot " + index + " has not been declared as overlay slot.");
+        }
+        // only players with an own copy are tracked, so players who never open the GUI are not kept until disposal
+        Inventory inventory = viewerInventories.get(player.getUniqueId());
+        if (inventory == null) {
+            return this;
+        }
+        ItemStack[] personal = overlays.computeIfAbsent(player.getUniqueId(), key -> new ItemStack[getInv().getSize()]);
+        personal[index] = itemStack;
+        inventory.setItem(index, itemStack != null ? itemStack : getInv().getItem(index));
+        return this;
+    }
+
+    /**
+     * Shows a personal item to the specified player at the given overlay slot.
+     * Personal items are discarded when the player leaves the GUI. Nothing happens if the player is not looking
+     * at an own copy of the GUI, e.g. because they have not opened it yet.
+     * @param player The player
+     * @param row Row of the GUI slot
+     * @param column Column of the GUI slot
+     * @param itemStack Item to be shown, or null to show the shared item again
+     * @return The current GUI instance
+     * @throws IllegalArgumentException if the slot has not been declared as overlay slot
+     */
+    @NotNull
+    public SharedGUI setOverlay(@NotNull Player player, int row, int column, @Nullable ItemStack itemStack) {
+        return setOverlay(player, GUIUtils.calculateIndex(row, column), itemStack);
+    }
+
+    /**
+     * Removes all personal items of the specified player. The player sees the shared items again.
+     * @param player The player
+     * @return The current GUI instance
+     */
+    @NotNull
+    public SharedGUI clearOverlays(@NotNull Player player) {
+        ItemStack[] personal = overlays.remove(player.getUniqueId());
+        Inventory inventory = viewerInventories.get(player.getUniqueId());
+        if (personal != null && inventory != null) {
+            for (int i = 0; i < personal.length; i++) {
+                if (personal[i] != null) {
+                    inventory.setItem(i, getInv().getItem(i));
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Gets the amount of players currently looking at the GUI. This method can be called from any thread.
+     * @return The amount of viewers
+     */
+    public int getViewerCount() {
+        return getViewers().size();
+    }
+
+    // for internal use only
+    protected void addOverlaySlot(int index) {
+        overlaySlots |= 1L << index;
+    }
+
+    @Override
+    public void dispose() {
+        GUIListener current = getListener();
+        super.dispose();
+        if (current != null) {
+            viewerInventories.values().forEach(current::unregisterInventory);
+        }
+        viewerInventories.clear();
+        overlays.clear();
+    }
+
+    @Override
+    protected void slotChanged(int index, @Nullable ItemStack item) {
+        if (viewerInventories.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<UUID, Inventory> entry : viewerInventories.entrySet()) {
+            if (!hasOverlay(entry.getKey(), index)) {
+                entry.getValue().setItem(index, item);
+            }
+        }
+    }
+
+    // only the changed slots are copied, unless most of the inventory changed anyway
+    @Override
+    protected void contentsChanged(long slots) {
+        if (viewerInventories.isEmpty()) {
+            return;
+        }
+        ItemStack[] contents = getInv().getContents();
+        if (Long.bitCount(slots & (1L << contents.length) - 1) > contents.length / 2) {
+            for (Map.Entry<UUID, Inventory> entry : viewerInventories.entrySet()) {
+                copyContents(entry.getKey(), entry.getValue());
+            }
+            return;
+        }
+        for (Map.Entry<UUID, Inventory> entry : viewerInventories.entrySet()) {
+            long remaining = slots & (1L << contents.length) - 1;
+            while (remaining != 0) {
+                int index = Long.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                if (!hasOverlay(entry.getKey(), index)) {
+                    entry.getValue().setItem(index, contents[index]);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void viewerRemoved(@NotNull UUID uuid) {
+        overlays.remove(uuid);
+        Inventory inventory = viewerInventories.remove(uuid);
+        GUIListener current = getListener();
+        if (inventory != null && current != null) {
+            current.unregisterInventory(inventory);
+        }
+    }
+
+    @NotNull
+    @Override
+    protected Inventory openFor(@NotNull Player player) {
+        GUIListener current = getListener();
+        if (overlaySlots == 0 || current == null) {
+            return getInv();
+        }
+        Inventory inventory = createInventory(getInv().getSize(), getTitle());
+        copyContents(player.getUniqueId(), inventory);
+        Inventory previous = viewerInventories.put(player.getUniqueId(), inventory);
+        if (previous != null) {
+            current.unregisterInventory(previous);
+        }
+        current.registerInventory(inventory, this);
+        return inventory;
+    }
+
+    // items taken out of the copy of a viewer would still be in the GUI, so they would be duplicated
+    @Override
+    protected boolean isStealable(int slot) {
+        return overlaySlots == 0 && viewerInventories.isEmpty() && super.isStealable(slot);
+    }
+
+    @NotNull
+    @Override
+    protected Inventory getViewerInventory(@NotNull UUID uuid) {
+        return viewerInventories.getOrDefault(uuid, getInv());
+    }
+
+    private void copyContents(@NotNull UUID uuid, @NotNull Inventory inventory) {
+        inventory.setContents(getInv().getContents());
+        ItemStack[] personal = overlays.get(uuid);
+        if (personal == null) {
+            return;
+        }
+        for (int i = 0; i < personal.length; i++) {
+            if (personal[i] != null && (overlaySlots & 1L << i) != 0) {
+                inventory.setItem(i, personal[i]);
+            }
+        }
+    }
+
+    private boolean hasOverlay(@NotNull UUID uuid, int index) {
+        if ((overlaySlots & 1L << index) == 0) {
+            return false;
+        }
+        ItemStack[] personal = overlays.get(uuid);
+        return personal != null && personal[index] != null;
+    }
+}
@@ -0,0 +1,35 @@
+package de.leonheuer.mcguiapi.gui;
+
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Frame sequence of an animated GUI slot.
+ */
+class SlotAnimation {
+
+    private final ItemStack[] frames;
+    private final int period;
+    private int ticks = 0;
+    private int frame = 0;
+
+    SlotAnimation(@NotNull ItemStack[] frames, int period) {
+        this.frames = frames;
+        this.period = period;
+    }
+
+    // advances the animation by one tick and returns whether the frame changed
+    boolean tick() {
+        if (++ticks < period) {
+            return false;
+        }
+        ticks = 0;
+        frame = (frame + 1) % frames.length;
+        return frames.length > 1;
+    }
+
+    @NotNull
+    ItemStack getFrame() {
+        return frames[frame];
+    }
+}
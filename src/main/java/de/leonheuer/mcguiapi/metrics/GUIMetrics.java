@@ -0,0 +1,54 @@
+package de.leonheuer.mcguiapi.metrics;
+
+import de.leonheuer.mcguiapi.enums.CloseCause;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Receives measurements of GUI operations. GUIs are grouped by their name, see
+ * {@link de.leonheuer.mcguiapi.gui.GUI#setName(String)}.
+ * All methods are called on the main thread and should return quickly. Every method does nothing by default,
+ * so implementations only need to override what they record.
+ */
+public interface GUIMetrics {
+
+    /**
+     * Metrics implementation that records nothing. It is used unless another implementation is set.
+     */
+    GUIMetrics NOOP = new GUIMetrics() {
+    };
+
+    /**
+     * Called when a GUI has been created.
+     */
+    default void guiCreated() {
+    }
+
+    /**
+     * Called when a GUI has been disposed.
+     */
+    default void guiDisposed() {
+    }
+
+    /**
+     * Called when a GUI has been shown to a player.
+     * @param name The name of the GUI
+     */
+    default void guiOpened(@NotNull String name) {
+    }
+
+    /**
+     * Called when a player stopped looking at a GUI.
+     * @param name The name of the GUI
+     * @param cause The cause for the GUI to close
+     */
+    default void guiClosed(@NotNull String name, @NotNull CloseCause cause) {
+    }
+
+    /**
+     * Called after the click actions of a GUI have handled a click.
+     * @param name The name of the GUI
+     * @param nanos The time the click actions took in nanoseconds
+     */
+    default void clickHandled(@NotNull String name, long nanos) {
+    }
+}
@@ -0,0 +1,220 @@
+package de.leonheuer.mcguiapi.metrics;
+
+import de.leonheuer.mcguiapi.enums.CloseCause;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics implementation that keeps counters and click latency histograms in memory.
+ * Counters use {@link LongAdder}s, so recording is cheap and the statistics can be read from any thread.
+ * Click latencies are recorded in power-of-two buckets, so percentiles are accurate to a factor of two.
+ */
+@SuppressWarnings("unused")
+public class InMemoryGUIMetrics implements GUIMetrics {
+
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+    private final LongAdder liveGUIs = new LongAdder();
+
+    @Override
+    public void guiCreated() {
+        liveGUIs.increment();
+    }
+
+    @Override
+    public void guiDisposed() {
+        liveGUIs.decrement();
+    }
+
+    @Override
+    public void guiOpened(@NotNull String name) {
+        Stats current = stats(name);
+        current.opens.increment();
+        current.viewers.increment();
+    }
+
+    @Override
+    public void guiClosed(@NotNull String name, @NotNull CloseCause cause) {
+        Stats current = stats(name);
+        current.closes[cause.ordinal()].increment();
+        current.viewers.decrement();
+    }
+
+    @Override
+    public void clickHandled(@NotNull String name, long nanos) {
+        Stats current = stats(name);
+        current.clicks.increment();
+        current.totalClickNanos.add(nanos);
+        current.maxClickNanos.accumulate(nanos);
+        current.latency[bucket(nanos)].increment();
+    }
+
+    /**
+     * Gets the amount of GUIs that have been created and not been disposed yet.
+     * @return The amount of live GUIs
+     */
+    public long getLiveGUIs() {
+        return Math.max(liveGUIs.sum(), 0);
+    }
+
+    /**
+     * Gets the statistics of the GUIs with the specified name.
+     * @param name The name of the GUIs
+     * @return The statistics, or null if nothing has been recorded for the name
+     */
+    @Nullable
+    public Stats getStats(@NotNull String name) {
+        return stats.get(name);
+    }
+
+    /**
+     * Gets the statistics of all GUI names that have been recorded.
+     * @return The statistics mapped by GUI name
+     */
+    @NotNull
+    public Map<String, Stats> getAllStats() {
+        return Map.copyOf(stats);
+    }
+
+    /**
+     * Gets the names of the GUIs with the slowest click actions, ordered by the 99th percentile of their latency.
+     * @param limit The maximum amount of names
+     * @return The names of the slowest GUIs
+     */
+    @NotNull
+    public List<String> getSlowestGUIs(int limit) {
+        return stats.entrySet().stream()
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<String, Stats> entry) -> entry.getValue().getClickPercentileNanos(0.99)
+                ).reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Removes all recorded statistics except the amount of live GUIs.
+     */
+    public void reset() {
+        stats.clear();
+    }
+
+    @NotNull
+    private Stats stats(@NotNull String name) {
+        Stats current = stats.get(name);
+        if (current == null) {
+            current = stats.computeIfAbsent(name, key -> new Stats());
+        }
+        return current;
+    }
+
+    // index of the highest set bit, so bucket n holds latencies below 2^n nanoseconds
+    private static int bucket(long nanos) {
+        return 64 - Long.numberOfLeadingZeros(Math.max(nanos, 0));
+    }
+
+    /**
+     * Statistics of all GUIs sharing a name.
+     */
+    public static final class Stats {
+
+        private final LongAdder opens = new LongAdder();
+        private final LongAdder viewers = new LongAdder();
+        private final LongAdder clicks = new LongAdder();
+        private final LongAdder totalClickNanos = new LongAdder();
+        private final LongAccumulator maxClickNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder[] closes = new LongAdder[CloseCause.values().length];
+        private final LongAdder[] latency = new LongAdder[65];
+
+        private Stats() {
+            for (int i = 0; i < closes.length; i++) {
+                closes[i] = new LongAdder();
+            }
+            for (int i = 0; i < latency.length; i++) {
+                latency[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Gets how often the GUIs have been shown to a player.
+         * @return The amount of opens
+         */
+        public long getOpenCount() {
+            return opens.sum();
+        }
+
+        /**
+         * Gets the amount of players currently looking at the GUIs.
+         * @return The amount of viewers
+         */
+        public long getViewerCount() {
+            return Math.max(viewers.sum(), 0); // closes of sessions opened before a reset are not counted
+        }
+
+        /**
+         * Gets how often the GUIs have been closed for the specified cause.
+         * @param cause The cause
+         * @return The amount of closes
+         */
+        public long getCloseCount(@NotNull CloseCause cause) {
+            return closes[cause.ordinal()].sum();
+        }
+
+        /**
+         * Gets the amount of clicks handled by the GUIs.
+         * @return The amount of clicks
+         */
+        public long getClickCount() {
+            return clicks.sum();
+        }
+
+        /**
+         * Gets the average time the click actions took.
+         * @return The average latency in nanoseconds
+         */
+        public long getAverageClickNanos() {
+            long count = clicks.sum();
+            return count == 0 ? 0 : totalClickNanos.sum() / count;
+        }
+
+        /**
+         * Gets the longest time the click actions took.
+         * @return The maximum latency in nanoseconds
+         */
+        public long getMaxClickNanos() {
+            return maxClickNanos.get();
+        }
+
+        /**
+         * Gets an upper bound of the specified percentile of the time the click actions took.
+         * @param percentile The percentile between 0 and 1, e.g. 0.99
+         * @return The upper bound of the percentile in nanoseconds
+         */
+        public long getClickPercentileNanos(double percentile) {
+            long[] counts = new long[latency.length];
+            long total = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = latency[i].sum();
+                total += counts[i];
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long target = (long) Math.ceil(total * percentile);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= target) {
+                    return i >= 63 ? Long.MAX_VALUE : 1L << i;
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+    }
+}
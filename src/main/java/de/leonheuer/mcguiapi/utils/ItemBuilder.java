@@ -1,7 +1,6 @@
 package de.leonheuer.mcguiapi.utils;
 
 import net.kyori.adventure.text.Component;
-import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.enchantments.Enchantment;
 import org.bukkit.inventory.ItemFlag;
@@ -10,22 +9,40 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Builder utility class for easily creating item stacks.
+ * Names and descriptions are parsed with the format configured in the {@link TextCache}.
+ * Builders created from a material only create the item stack when it is requested, so items built with
+ * {@link #asInternedItem()} or {@link #asSharedItem()} can be taken from the {@link ItemCache} without building
+ * them again.
  */
 @SuppressWarnings({"unused", "UnusedReturnValue"})
 public class ItemBuilder {
 
-    private final ItemStack itemStack;
+    private final Material material;
+    private final boolean fromItemStack;
+    private ItemStack itemStack = null;
+    private int amount = 1;
+    private String name = null;
+    private List<String> lore = null;
+    private final Map<Enchantment, Integer> enchantments = new LinkedHashMap<>();
+    private final Set<ItemFlag> flags = EnumSet.noneOf(ItemFlag.class);
 
     // use static method to instantiate a pattern
     ItemBuilder(Material material) {
-        itemStack = new ItemStack(material);
+        this.material = material;
+        this.fromItemStack = false;
     }
 
     ItemBuilder(ItemStack itemStack) {
+        this.material = itemStack.getType();
+        this.fromItemStack = true;
         this.itemStack = itemStack;
     }
 
@@ -55,7 +72,10 @@ public class ItemBuilder {
      * @return The item builder instance
      */
     public ItemBuilder amount(int amount) {
-        itemStack.setAmount(amount);
+        this.amount = amount;
+        if (itemStack != null) {
+            itemStack.setAmount(amount);
+        }
         return this;
     }
 
@@ -65,9 +85,10 @@ public class ItemBuilder {
      * @return The item builder instance
      */
     public ItemBuilder name(String name) {
-        itemStack.editMeta(meta -> meta.displayName(Component.text(
-                ChatColor.translateAlternateColorCodes('&', name)
-        )));
+        this.name = name;
+        if (itemStack != null) {
+            applyName(itemStack, name);
+        }
         return this;
     }
 
@@ -77,11 +98,10 @@ public class ItemBuilder {
      * @return The item builder instance
      */
     public ItemBuilder description(String... description) {
-        List<Component> lore = Arrays.stream(description)
-                .map(line -> (Component) Component.text(
-                        ChatColor.translateAlternateColorCodes('&', line)
-                )).toList();
-        itemStack.editMeta(meta -> meta.lore(lore));
+        this.lore = List.of(description);
+        if (itemStack != null) {
+            applyLore(itemStack, lore);
+        }
         return this;
     }
 
@@ -92,7 +112,10 @@ public class ItemBuilder {
      * @return The item builder instance
      */
     public ItemBuilder enchant(Enchantment enchantment, int level) {
-        itemStack.addUnsafeEnchantment(enchantment, level);
+        enchantments.put(enchantment, level);
+        if (itemStack != null) {
+            itemStack.addUnsafeEnchantment(enchantment, level);
+        }
         return this;
     }
 
@@ -102,7 +125,10 @@ public class ItemBuilder {
      * @return The item builder instance
      */
     public ItemBuilder addFlags(ItemFlag... flags) {
-        itemStack.addItemFlags(flags);
+        this.flags.addAll(Arrays.asList(flags));
+        if (itemStack != null) {
+            itemStack.addItemFlags(flags);
+        }
         return this;
     }
 
@@ -111,7 +137,7 @@ public class ItemBuilder {
      * @return The item builder instance
      */
     public ItemBuilder glowing() {
-        if (itemStack.getType() == Material.FISHING_ROD) {
+        if (material == Material.FISHING_ROD) {
             enchant(Enchantment.DEPTH_STRIDER, 1);
         } else {
             enchant(Enchantment.LURE, 1);
@@ -125,7 +151,62 @@ public class ItemBuilder {
      * @return The created item stack
      */
     public ItemStack asItem() {
+        if (itemStack == null) {
+            itemStack = build();
+        }
         return itemStack;
     }
 
+    /**
+     * Gets a copy of the item stack with the properties of this builder.
+     * Items with the same properties are only built once and then copied from the {@link ItemCache}.
+     * @return A new item stack that can be modified freely
+     */
+    public ItemStack asInternedItem() {
+        return asSharedItem().clone();
+    }
+
+    /**
+     * Gets the shared item stack with the properties of this builder from the {@link ItemCache}.
+     * The returned item stack is shared by all builders with the same properties and must not be modified.
+     * It can be passed to a GUI directly, since inventories store a copy of their items.
+     * @return The shared item stack
+     */
+    public ItemStack asSharedItem() {
+        if (fromItemStack) {
+            return asItem();
+        }
+        ItemCache.ItemSpec spec = new ItemCache.ItemSpec(material, amount, name, lore, Map.copyOf(enchantments),
+                Set.copyOf(flags), TextCache.getFormat());
+        return ItemCache.get(spec, this::build);
+    }
+
+    @NotNull
+    private ItemStack build() {
+        ItemStack item = new ItemStack(material, amount);
+        if (name != null) {
+            applyName(item, name);
+        }
+        if (lore != null) {
+            applyLore(item, lore);
+        }
+        enchantments.forEach(item::addUnsafeEnchantment);
+        if (!flags.isEmpty()) {
+            item.addItemFlags(flags.toArray(new ItemFlag[0]));
+        }
+        return item;
+    }
+
+    private static void applyName(@NotNull ItemStack item, @NotNull String name) {
+        Component displayName = TextCache.parse(name);
+        item.editMeta(meta -> meta.displayName(displayName));
+    }
+
+    private static void applyLore(@NotNull ItemStack item, @NotNull List<String> description) {
+        List<Component> lore = description.stream()
+                .map(TextCache::parse)
+                .toList();
+        item.editMeta(meta -> meta.lore(lore));
+    }
+
 }
@@ -0,0 +1,130 @@
+package de.leonheuer.mcguiapi.utils;
+
+import de.leonheuer.mcguiapi.enums.TextFormat;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of item stacks built by {@link ItemBuilder}, keyed by the properties of the builder.
+ * The least recently used item is evicted when the cache is full. The cache is thread safe.
+ */
+@SuppressWarnings("unused")
+public final class ItemCache {
+
+    private static final LinkedHashMap<ItemSpec, ItemStack> CACHE = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<ItemSpec, ItemStack> eldest) {
+            return size() > maxSize;
+        }
+    };
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static int maxSize = 1024;
+
+    private ItemCache() {
+    }
+
+    /**
+     * Sets the maximum amount of cached items. Setting it to 0 disables caching.
+     * @param maxSize The maximum amount of items
+     */
+    public static void setMaxSize(int maxSize) {
+        synchronized (CACHE) {
+            ItemCache.maxSize = Math.max(0, maxSize);
+            while (CACHE.size() > ItemCache.maxSize) {
+                CACHE.remove(CACHE.keySet().iterator().next());
+            }
+        }
+    }
+
+    /**
+     * Gets the maximum amount of cached items.
+     * @return The maximum amount of items
+     */
+    public static int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets the amount of currently cached items.
+     * @return The amount of items
+     */
+    public static int size() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+
+    /**
+     * Gets the amount of requests that were answered from the cache.
+     * @return The amount of hits
+     */
+    public static long getHits() {
+        return HITS.sum();
+    }
+
+    /**
+     * Gets the amount of requests that required building the item.
+     * @return The amount of misses
+     */
+    public static long getMisses() {
+        return MISSES.sum();
+    }
+
+    /**
+     * Gets the ratio of requests that were answered from the cache.
+     * @return The hit rate between 0 and 1, or 0 if there were no requests yet
+     */
+    public static double getHitRate() {
+        long hits = HITS.sum();
+        long total = hits + MISSES.sum();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Removes all cached items and resets the statistics.
+     */
+    public static void clear() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+        HITS.reset();
+        MISSES.reset();
+    }
+
+    // for internal use only
+    @NotNull
+    static ItemStack get(@NotNull ItemSpec spec, @NotNull Supplier<ItemStack> builder) {
+        ItemStack item;
+        synchronized (CACHE) {
+            item = CACHE.get(spec);
+        }
+        if (item != null) {
+            HITS.increment();
+            return item;
+        }
+        MISSES.increment();
+        ItemStack built = builder.get();
+        synchronized (CACHE) {
+            ItemStack existing = CACHE.putIfAbsent(spec, built);
+            return existing != null ? existing : built;
+        }
+    }
+
+    // properties of an item builder and the text format its name and lore are parsed with, used as cache key
+    record ItemSpec(@NotNull Material material, int amount, @Nullable String name, @Nullable List<String> lore,
+                    @NotNull Map<Enchantment, Integer> enchantments, @NotNull Set<ItemFlag> flags,
+                    @NotNull TextFormat format) {
+    }
+}
@@ -0,0 +1,156 @@
+package de.leonheuer.mcguiapi.utils;
+
+import de.leonheuer.mcguiapi.enums.TextFormat;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.ChatColor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of parsed texts used for item names, item descriptions and GUI titles.
+ * Texts are parsed with the configured {@link TextFormat}, which is {@link TextFormat#LEGACY} by default.
+ * The least recently used text is evicted when the cache is full. The cache is thread safe.
+ */
+@SuppressWarnings("unused")
+public final class TextCache {
+
+    private static final LinkedHashMap<String, Component> CACHE = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Component> eldest) {
+            return size() > maxSize;
+        }
+    };
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static int maxSize = 4096;
+    private static TextFormat format = TextFormat.LEGACY;
+
+    private TextCache() {
+    }
+
+    /**
+     * Parses the text with the configured format. Parsed texts are cached.
+     * @param text The text to parse
+     * @return The parsed component
+     */
+    @NotNull
+    public static Component parse(@NotNull String text) {
+        Component component;
+        synchronized (CACHE) {
+            component = CACHE.get(text);
+        }
+        if (component != null) {
+            HITS.increment();
+            return component;
+        }
+        MISSES.increment();
+        TextFormat current = format;
+        Component parsed = parse(text, current);
+        synchronized (CACHE) {
+            if (current == format) {
+                CACHE.put(text, parsed);
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Parses the text with the specified format without using the cache.
+     * @param text The text to parse
+     * @param format The format of the text
+     * @return The parsed component
+     */
+    @NotNull
+    public static Component parse(@NotNull String text, @NotNull TextFormat format) {
+        return switch (format) {
+            case LEGACY -> LegacyComponentSerializer.legacySection().deserialize(
+                    ChatColor.translateAlternateColorCodes('&', text)
+            );
+            case MINI_MESSAGE -> MiniMessage.miniMessage().deserialize(text);
+            case PLAIN -> Component.text(text);
+        };
+    }
+
+    /**
+     * Sets the format texts are parsed with. This clears the cache.
+     * @param format The format
+     */
+    public static void setFormat(@NotNull TextFormat format) {
+        synchronized (CACHE) {
+            TextCache.format = format;
+            CACHE.clear();
+        }
+    }
+
+    /**
+     * Gets the format texts are parsed with.
+     * @return The format
+     */
+    @NotNull
+    public static TextFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Sets the maximum amount of cached texts. Setting it to 0 disables caching.
+     * @param maxSize The maximum amount of texts
+     */
+    public static void setMaxSize(int maxSize) {
+        synchronized (CACHE) {
+            TextCache.maxSize = Math.max(0, maxSize);
+            while (CACHE.size() > TextCache.maxSize) {
+                CACHE.remove(CACHE.keySet().iterator().next());
+            }
+        }
+    }
+
+    /**
+     * Gets the maximum amount of cached texts.
+     * @return The maximum amount of texts
+     */
+    public static int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Gets the amount of currently cached texts.
+     * @return The amount of texts
+     */
+    public static int size() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+
+    /**
+     * Gets the amount of texts that were answered from the cache.
+     * @return The amount of hits
+     */
+    public static long getHits() {
+        return HITS.sum();
+    }
+
+    /**
+     * Gets the amount of texts that had to be parsed.
+     * @return The amount of misses
+     */
+    public static long getMisses() {
+        return MISSES.sum();
+    }
+
+    /**
+     * Removes all cached texts and resets the statistics.
+     */
+    public static void clear() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+        HITS.reset();
+        MISSES.reset();
+    }
+}